@@ -2,16 +2,21 @@ package dev.ked.bazaar;
 
 import dev.ked.bazaar.commands.ShopCommand;
 import dev.ked.bazaar.config.ConfigManager;
+import dev.ked.bazaar.discovery.ListingSearchService;
 import dev.ked.bazaar.integration.MythicItemHandler;
 import dev.ked.bazaar.integration.TerritoryManager;
 import dev.ked.bazaar.integration.TownyTerritoryManager;
 import dev.ked.bazaar.integration.TownsAndNationsTerritoryManager;
 import dev.ked.bazaar.listeners.GUIListener;
+import dev.ked.bazaar.listeners.HopperListener;
 import dev.ked.bazaar.listeners.ShopModeListener;
+import dev.ked.bazaar.listeners.ShopProtectionListener;
 import dev.ked.bazaar.map.MapManager;
 import dev.ked.bazaar.mode.ShopModeManager;
+import dev.ked.bazaar.shop.OwnerNameCache;
 import dev.ked.bazaar.shop.ShopEntityManager;
 import dev.ked.bazaar.shop.ShopRegistry;
+import dev.ked.bazaar.shop.StockTracker;
 import dev.ked.bazaar.ui.*;
 import net.milkbowl.vault.economy.Economy;
 import org.bukkit.plugin.RegisteredServiceProvider;
@@ -26,12 +31,19 @@ public class BazaarPlugin extends JavaPlugin {
     private ShopRegistry shopRegistry;
     private ShopEntityManager shopEntityManager;
     private ShopModeManager shopModeManager;
+    private StockTracker stockTracker;
+    private ListingSearchService listingSearchService;
+    private OwnerNameCache ownerNameCache;
 
     // UI components
     private SignRenderer signRenderer;
     private HologramManager hologramManager;
+    private HologramSweeper hologramSweeper;
     private ListingConfigGUI listingConfigGUI;
     private BuyListingConfigGUI buyListingConfigGUI;
+    private MaterialSelectorGUI materialSelectorGUI;
+    private ChatInputManager chatInputManager;
+    private ListingIconCache listingIconCache;
 
     // Map integration
     private MapManager mapManager;
@@ -67,8 +79,13 @@ public class BazaarPlugin extends JavaPlugin {
 
         // Initialize registry and managers
         shopRegistry = new ShopRegistry();
+        shopRegistry.getFacets().setCategoryLookup(MaterialSelectorGUI::getCategories);
         shopEntityManager = new ShopEntityManager(shopRegistry, configManager);
         shopEntityManager.setTerritoryManager(territoryManager);
+        stockTracker = new StockTracker(shopRegistry, mythicItemHandler);
+        listingSearchService = new ListingSearchService(this, shopRegistry);
+        ownerNameCache = new OwnerNameCache(this);
+        ownerNameCache.load();
 
         // Initialize shop mode
         shopModeManager = new ShopModeManager(this, configManager, shopRegistry);
@@ -76,10 +93,16 @@ public class BazaarPlugin extends JavaPlugin {
         // Initialize UI components
         signRenderer = new SignRenderer(configManager, shopRegistry);
         signRenderer.setMythicItemHandler(mythicItemHandler);
+        signRenderer.setStockTracker(stockTracker);
 
         hologramManager = new HologramManager(configManager, shopRegistry);
         hologramManager.setMythicItemHandler(mythicItemHandler);
+        hologramManager.setStockTracker(stockTracker);
+        hologramSweeper = new HologramSweeper(this, configManager, hologramManager);
 
+        materialSelectorGUI = new MaterialSelectorGUI(mythicItemHandler);
+        listingIconCache = new ListingIconCache();
+        chatInputManager = new ChatInputManager(this, configManager);
         listingConfigGUI = new ListingConfigGUI(this, configManager, shopRegistry, shopEntityManager, hologramManager, signRenderer);
         buyListingConfigGUI = new BuyListingConfigGUI(this, configManager, shopRegistry, shopEntityManager, hologramManager, signRenderer, mythicItemHandler);
 
@@ -96,6 +119,9 @@ public class BazaarPlugin extends JavaPlugin {
         // Start shop mode check task
         shopModeManager.startCheckTask();
 
+        // Start orphaned hologram sweeper
+        hologramSweeper.start();
+
         getLogger().info("BetterShop v" + getDescription().getVersion() + " enabled!");
     }
 
@@ -110,11 +136,27 @@ public class BazaarPlugin extends JavaPlugin {
         // Clean up GUIs
         if (listingConfigGUI != null) {
             listingConfigGUI.cleanup();
-            listingConfigGUI.unregister();
         }
         if (buyListingConfigGUI != null) {
             buyListingConfigGUI.cleanup();
-            buyListingConfigGUI.unregister();
+        }
+        if (chatInputManager != null) {
+            chatInputManager.clear();
+        }
+
+        // Stop search workers
+        if (listingSearchService != null) {
+            listingSearchService.shutdown();
+        }
+
+        // Keep known owner names for the next start
+        if (ownerNameCache != null) {
+            ownerNameCache.save();
+        }
+
+        // Stop hologram sweeper
+        if (hologramSweeper != null) {
+            hologramSweeper.stop();
         }
 
         // Remove all holograms
@@ -141,9 +183,23 @@ public class BazaarPlugin extends JavaPlugin {
         guiListener = new GUIListener(this);
         getServer().getPluginManager().registerEvents(guiListener, this);
 
-        // Register GUI listeners
-        listingConfigGUI.register();
-        buyListingConfigGUI.register();
+        // Register explosion and piston protection
+        getServer().getPluginManager().registerEvents(new ShopProtectionListener(configManager, shopRegistry), this);
+
+        // Register hopper protection and hopper-fed stock tracking
+        getServer().getPluginManager().registerEvents(new HopperListener(configManager, shopRegistry, stockTracker), this);
+
+        // Register stock recounts for chunk loads
+        getServer().getPluginManager().registerEvents(stockTracker, this);
+
+        // Register hologram sweeper for chunk loads
+        getServer().getPluginManager().registerEvents(hologramSweeper, this);
+
+        // Register chat input capture for GUIs
+        getServer().getPluginManager().registerEvents(chatInputManager, this);
+
+        // Register owner name capture on join
+        getServer().getPluginManager().registerEvents(ownerNameCache, this);
     }
 
     /**
@@ -194,10 +250,15 @@ public class BazaarPlugin extends JavaPlugin {
 
     /**
      * Reload configuration.
+     *
+     * @return true if the new configuration was valid and applied
      */
-    public void reloadConfiguration() {
-        configManager.reload();
-        getLogger().info("Configuration reloaded!");
+    public boolean reloadConfiguration() {
+        boolean applied = configManager.reload();
+        if (applied) {
+            getLogger().info("Configuration reloaded!");
+        }
+        return applied;
     }
 
     // ===== GETTERS FOR DEPENDENCIES =====
@@ -222,6 +283,22 @@ public class BazaarPlugin extends JavaPlugin {
         return shopModeManager;
     }
 
+    public StockTracker getStockTracker() {
+        return stockTracker;
+    }
+
+    public ListingSearchService getListingSearchService() {
+        return listingSearchService;
+    }
+
+    public OwnerNameCache getOwnerNameCache() {
+        return ownerNameCache;
+    }
+
+    public ListingIconCache getListingIconCache() {
+        return listingIconCache;
+    }
+
     public SignRenderer getSignRenderer() {
         return signRenderer;
     }
@@ -246,6 +323,14 @@ public class BazaarPlugin extends JavaPlugin {
         return buyListingConfigGUI;
     }
 
+    public MaterialSelectorGUI getMaterialSelectorGUI() {
+        return materialSelectorGUI;
+    }
+
+    public ChatInputManager getChatInputManager() {
+        return chatInputManager;
+    }
+
     public TerritoryManager getTerritoryManager() {
         return territoryManager;
     }
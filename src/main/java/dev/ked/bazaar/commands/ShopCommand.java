@@ -2,12 +2,15 @@ package dev.ked.bazaar.commands;
 
 import dev.ked.bazaar.BazaarPlugin;
 import dev.ked.bazaar.config.ConfigManager;
+import dev.ked.bazaar.discovery.NearestShopFinder;
+import dev.ked.bazaar.discovery.QueryResultCache;
+import dev.ked.bazaar.discovery.ShopSearchFilter;
 import dev.ked.bazaar.mode.ShopModeManager;
 import dev.ked.bazaar.shop.*;
 import dev.ked.bazaar.ui.ShopDirectoryGUI;
 import net.kyori.adventure.text.minimessage.MiniMessage;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -28,6 +31,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
     private final ShopModeManager modeManager;
     private final ConfigManager config;
     private final MiniMessage miniMessage;
+    private final NearestShopFinder shopFinder;
 
     public ShopCommand(BazaarPlugin plugin, ShopEntityManager shopManager, ShopRegistry registry,
                        ShopModeManager modeManager, ConfigManager config) {
@@ -37,6 +41,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
         this.modeManager = modeManager;
         this.config = config;
         this.miniMessage = MiniMessage.miniMessage();
+        this.shopFinder = new NearestShopFinder(registry);
     }
 
     @Override
@@ -62,7 +67,11 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
             case "info" -> handleInfo(player);
             case "collect" -> handleCollect(player);
             case "remove" -> handleRemoveListing(player);
+            case "hopper" -> handleHopper(player);
             case "browse", "directory" -> handleBrowse(player, args);
+            case "search" -> handleSearch(player, args);
+            case "find" -> handleFind(player, args);
+            case "explain" -> handleExplain(player, args);
             case "reload" -> handleReload(player);
             default -> sendHelp(player);
         }
@@ -76,12 +85,12 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
      */
     private void handleCreate(Player player, String[] args) {
         if (!player.hasPermission("bettershop.create")) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>No permission!"));
+            player.sendMessage(config.prefixed("<red>No permission!"));
             return;
         }
 
         if (args.length < 2) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Usage: /shop create <name>"));
+            player.sendMessage(config.prefixed("<red>Usage: /shop create <name>"));
             return;
         }
 
@@ -90,22 +99,20 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
 
         // Validate shop name
         if (shopName.trim().isEmpty()) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Shop name cannot be empty!"));
+            player.sendMessage(config.prefixed("<red>Shop name cannot be empty!"));
             return;
         }
 
         // Check if name is already taken
         if (registry.isShopNameTaken(player.getUniqueId(), shopName)) {
-            String message = config.getMessage("shop-name-taken", "shop_name", shopName);
-            player.sendMessage(miniMessage.deserialize(message));
+            player.sendMessage(config.message("shop-name-taken", "shop_name", shopName));
             return;
         }
 
         // Check if player can create shop at this location
         if (!shopManager.canCreateShop(player, player.getLocation())) {
             int maxShops = config.getMaxShopsPerPlayer();
-            String message = config.getMessage("shop-limit-reached", "limit", String.valueOf(maxShops));
-            player.sendMessage(miniMessage.deserialize(message));
+            player.sendMessage(config.message("shop-limit-reached", "limit", String.valueOf(maxShops)));
             return;
         }
 
@@ -113,20 +120,18 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
         Optional<ShopEntity> shopOpt = shopManager.createShop(player.getUniqueId(), shopName, player.getLocation());
 
         if (shopOpt.isEmpty()) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Failed to create shop!"));
+            player.sendMessage(config.prefixed("<red>Failed to create shop!"));
             return;
         }
 
         ShopEntity shop = shopOpt.get();
 
         // Send creation message
-        String message = config.getMessage("shop-created", "shop_name", shopName);
-        player.sendMessage(miniMessage.deserialize(message));
+        player.sendMessage(config.message("shop-created", "shop_name", shopName));
 
         // Show territory if assigned
         if (shop.getTerritoryId() != null) {
-            String territoryMsg = config.getMessage("shop-territory-assigned", "territory", shop.getTerritoryId());
-            player.sendMessage(miniMessage.deserialize(territoryMsg));
+            player.sendMessage(config.message("shop-territory-assigned", "territory", shop.getTerritoryId()));
         }
 
         // Enter shop mode
@@ -142,7 +147,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
      */
     private void handleMode(Player player, String[] args) {
         if (!player.hasPermission("bettershop.mode")) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>No permission!"));
+            player.sendMessage(config.prefixed("<red>No permission!"));
             return;
         }
 
@@ -151,7 +156,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
             if (modeManager.exitShopMode(player)) {
                 // Exit message is sent by manager
             } else {
-                player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>You are not in shop mode!"));
+                player.sendMessage(config.prefixed("<red>You are not in shop mode!"));
             }
             return;
         }
@@ -165,7 +170,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
             Optional<ShopEntity> shopOpt = registry.getShopByOwnerAndName(player.getUniqueId(), shopName);
 
             if (shopOpt.isEmpty()) {
-                player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Shop '" + shopName + "' not found!"));
+                player.sendMessage(config.message("shop-not-found-named", "shop_name", shopName));
                 return;
             }
 
@@ -175,12 +180,12 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
             List<ShopEntity> shops = registry.getShopsByOwner(player.getUniqueId());
 
             if (shops.isEmpty()) {
-                player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>You don't have any shops! Use /shop create <name>"));
+                player.sendMessage(config.prefixed("<red>You don't have any shops! Use /shop create <name>"));
                 return;
             }
 
             if (shops.size() > 1) {
-                player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<yellow>You have multiple shops. Specify one: /shop mode <name>"));
+                player.sendMessage(config.prefixed("<yellow>You have multiple shops. Specify one: /shop mode <name>"));
                 listPlayerShops(player, shops);
                 return;
             }
@@ -198,18 +203,18 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
      */
     private void handleRename(Player player, String[] args) {
         if (!player.hasPermission("bettershop.rename")) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>No permission!"));
+            player.sendMessage(config.prefixed("<red>No permission!"));
             return;
         }
 
         if (args.length < 2) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Usage: /shop rename <new name>"));
+            player.sendMessage(config.prefixed("<red>Usage: /shop rename <new name>"));
             return;
         }
 
         // Must be in shop mode
         if (!modeManager.isInShopMode(player)) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>You must be in shop mode! Use /shop mode"));
+            player.sendMessage(config.prefixed("<red>You must be in shop mode! Use /shop mode"));
             return;
         }
 
@@ -217,9 +222,9 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
         String newName = String.join(" ", Arrays.copyOfRange(args, 1, args.length));
 
         if (shopManager.renameShop(shopId, newName)) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<green>Shop renamed to '" + newName + "'!"));
+            player.sendMessage(config.message("shop-renamed", "shop_name", newName));
         } else {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Failed to rename shop! Name might be taken."));
+            player.sendMessage(config.prefixed("<red>Failed to rename shop! Name might be taken."));
         }
     }
 
@@ -229,13 +234,13 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
      */
     private void handleDelete(Player player, String[] args) {
         if (!player.hasPermission("bettershop.delete")) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>No permission!"));
+            player.sendMessage(config.prefixed("<red>No permission!"));
             return;
         }
 
         // Must be in shop mode
         if (!modeManager.isInShopMode(player)) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>You must be in shop mode! Use /shop mode"));
+            player.sendMessage(config.prefixed("<red>You must be in shop mode! Use /shop mode"));
             return;
         }
 
@@ -243,7 +248,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
         Optional<ShopEntity> shopOpt = registry.getShopById(shopId);
 
         if (shopOpt.isEmpty()) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Shop not found!"));
+            player.sendMessage(config.prefixed("<red>Shop not found!"));
             return;
         }
 
@@ -255,9 +260,9 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
 
         // Delete shop (cascades to all listings)
         if (shopManager.removeShop(shopId)) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<green>Shop '" + shopName + "' deleted!"));
+            player.sendMessage(config.message("shop-deleted", "shop_name", shopName));
         } else {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Failed to delete shop!"));
+            player.sendMessage(config.prefixed("<red>Failed to delete shop!"));
         }
     }
 
@@ -267,18 +272,17 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
      */
     private void handleList(Player player) {
         if (!player.hasPermission("bettershop.list")) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>No permission!"));
+            player.sendMessage(config.prefixed("<red>No permission!"));
             return;
         }
 
         List<ShopEntity> shops = registry.getShopsByOwner(player.getUniqueId());
         int maxShops = config.getMaxShopsPerPlayer();
 
-        String header = config.getMessage("shop-list-header", "count", String.valueOf(shops.size()), "max", String.valueOf(maxShops));
-        player.sendMessage(miniMessage.deserialize(header));
+        player.sendMessage(config.message("shop-list-header", "count", String.valueOf(shops.size()), "max", String.valueOf(maxShops)));
 
         if (shops.isEmpty()) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("shop-list-empty")));
+            player.sendMessage(config.message("shop-list-empty"));
             return;
         }
 
@@ -294,11 +298,14 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
             int listingCount = shop.getListingCount();
             Location loc = shop.getCreationLocation();
 
-            String entry = "<gray>" + (i + 1) + ". <white>" + shop.getName() +
-                    " <gray>(" + listingCount + " listings) <dark_gray>[" +
-                    loc.getWorld().getName() + " " + loc.getBlockX() + "," + loc.getBlockY() + "," + loc.getBlockZ() + "]";
-
-            player.sendMessage(miniMessage.deserialize(entry));
+            player.sendMessage(config.message("shop-list-entry",
+                    "index", String.valueOf(i + 1),
+                    "shop_name", shop.getName(),
+                    "listings", String.valueOf(listingCount),
+                    "world", loc.getWorld().getName(),
+                    "x", String.valueOf(loc.getBlockX()),
+                    "y", String.valueOf(loc.getBlockY()),
+                    "z", String.valueOf(loc.getBlockZ())));
         }
     }
 
@@ -308,19 +315,19 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
      */
     private void handleInfo(Player player) {
         if (!player.hasPermission("bettershop.info")) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>No permission!"));
+            player.sendMessage(config.prefixed("<red>No permission!"));
             return;
         }
 
         Block target = player.getTargetBlockExact(5);
         if (target == null) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>No listing found!"));
+            player.sendMessage(config.prefixed("<red>No listing found!"));
             return;
         }
 
-        Optional<Listing> listingOpt = registry.getListingAt(target.getLocation());
+        Optional<Listing> listingOpt = getTargetListing(target);
         if (listingOpt.isEmpty()) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>No listing found!"));
+            player.sendMessage(config.prefixed("<red>No listing found!"));
             return;
         }
 
@@ -328,21 +335,22 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
         Optional<ShopEntity> shopOpt = registry.getShopById(listing.getShopId());
 
         if (shopOpt.isEmpty()) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Shop not found!"));
+            player.sendMessage(config.prefixed("<red>Shop not found!"));
             return;
         }
 
         ShopEntity shop = shopOpt.get();
-        String ownerName = Bukkit.getOfflinePlayer(listing.getOwner()).getName();
-        String typeColor = listing.getType() == ListingType.SELL ? "<green>" : "<blue>";
-
-        player.sendMessage(miniMessage.deserialize("<gray>========== <white>Listing Info <gray>=========="));
-        player.sendMessage(miniMessage.deserialize("<gray>Shop: <white>" + shop.getName()));
-        player.sendMessage(miniMessage.deserialize("<gray>Type: " + typeColor + listing.getType().name()));
-        player.sendMessage(miniMessage.deserialize("<gray>Item: <white>" + listing.getItem().getType().name()));
-        player.sendMessage(miniMessage.deserialize("<gray>Price: <gold>$" + String.format("%.2f", listing.getPrice())));
-        player.sendMessage(miniMessage.deserialize("<gray>Earnings: <gold>$" + String.format("%.2f", listing.getEarnings())));
-        player.sendMessage(miniMessage.deserialize("<gray>Owner: <white>" + ownerName));
+        String ownerName = plugin.getOwnerNameCache().getName(listing.getOwner());
+        String itemName = listing.isMythicItem() ? listing.getMythicItemId()
+                : listing.getItem() != null ? listing.getItem().getType().name() : "None";
+
+        player.sendMessage(config.message("shop-info-header"));
+        player.sendMessage(config.message("shop-info-shop", "shop_name", shop.getName()));
+        player.sendMessage(config.message(listing.getType() == ListingType.SELL ? "shop-info-type-sell" : "shop-info-type-buy"));
+        player.sendMessage(config.message("shop-info-item", "item", itemName));
+        player.sendMessage(config.message("shop-info-price", "price", String.format("%.2f", listing.getPrice())));
+        player.sendMessage(config.message("shop-info-earnings", "earnings", String.format("%.2f", listing.getEarnings())));
+        player.sendMessage(config.message("shop-info-owner", "owner", ownerName));
     }
 
     /**
@@ -352,25 +360,25 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
     private void handleCollect(Player player) {
         Block target = player.getTargetBlockExact(5);
         if (target == null) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>No listing found!"));
+            player.sendMessage(config.prefixed("<red>No listing found!"));
             return;
         }
 
-        Optional<Listing> listingOpt = registry.getListingAt(target.getLocation());
+        Optional<Listing> listingOpt = getTargetListing(target);
         if (listingOpt.isEmpty()) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>No listing found!"));
+            player.sendMessage(config.prefixed("<red>No listing found!"));
             return;
         }
 
         Listing listing = listingOpt.get();
 
         if (!listing.getOwner().equals(player.getUniqueId())) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>You don't own this listing!"));
+            player.sendMessage(config.prefixed("<red>You don't own this listing!"));
             return;
         }
 
         if (listing.getEarnings() <= 0) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("no-earnings")));
+            player.sendMessage(config.message("no-earnings"));
             return;
         }
 
@@ -380,8 +388,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
         // Deposit money
         plugin.getEconomy().depositPlayer(player, earnings);
 
-        String message = config.getMessage("earnings-collected", "earnings", String.format("%.2f", earnings));
-        player.sendMessage(miniMessage.deserialize(message));
+        player.sendMessage(config.message("earnings-collected", "earnings", String.format("%.2f", earnings)));
         player.playSound(player.getLocation(), org.bukkit.Sound.ENTITY_PLAYER_LEVELUP, 1.0f, 1.5f);
     }
 
@@ -391,39 +398,81 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
      */
     private void handleRemoveListing(Player player) {
         if (!player.hasPermission("bettershop.remove")) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>No permission!"));
+            player.sendMessage(config.prefixed("<red>No permission!"));
             return;
         }
 
         Block target = player.getTargetBlockExact(5);
         if (target == null) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>No listing found!"));
+            player.sendMessage(config.prefixed("<red>No listing found!"));
             return;
         }
 
-        Optional<Listing> listingOpt = registry.getListingAt(target.getLocation());
+        Optional<Listing> listingOpt = getTargetListing(target);
         if (listingOpt.isEmpty()) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>No listing found!"));
+            player.sendMessage(config.prefixed("<red>No listing found!"));
             return;
         }
 
         Listing listing = listingOpt.get();
 
         if (!listing.getOwner().equals(player.getUniqueId()) && !player.hasPermission("bettershop.admin")) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>You don't own this listing!"));
+            player.sendMessage(config.prefixed("<red>You don't own this listing!"));
             return;
         }
 
         // Collect earnings first
         if (listing.getEarnings() > 0) {
             plugin.getEconomy().depositPlayer(player, listing.getEarnings());
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<green>Collected $" + String.format("%.2f", listing.getEarnings())));
+            player.sendMessage(config.message("listing-earnings-collected", "earnings", String.format("%.2f", listing.getEarnings())));
         }
 
         // Remove listing
         registry.unregisterListing(listing.getId());
 
-        player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<green>Listing removed!"));
+        player.sendMessage(config.prefixed("<green>Listing removed!"));
+    }
+
+    /**
+     * /shop hopper
+     * Toggle hopper restocking for a sell listing (look at chest).
+     */
+    private void handleHopper(Player player) {
+        if (!config.isHopperFeedingEnabled()) {
+            player.sendMessage(config.prefixed("<red>Hopper-fed listings are disabled on this server!"));
+            return;
+        }
+
+        Block target = player.getTargetBlockExact(5);
+        if (target == null) {
+            player.sendMessage(config.prefixed("<red>No listing found!"));
+            return;
+        }
+
+        Optional<Listing> listingOpt = getTargetListing(target);
+        if (listingOpt.isEmpty()) {
+            player.sendMessage(config.prefixed("<red>No listing found!"));
+            return;
+        }
+
+        Listing listing = listingOpt.get();
+
+        if (!listing.getOwner().equals(player.getUniqueId()) && !player.hasPermission("bettershop.admin")) {
+            player.sendMessage(config.prefixed("<red>You don't own this listing!"));
+            return;
+        }
+
+        if (listing.getType() != ListingType.SELL) {
+            player.sendMessage(config.prefixed("<red>Only sell listings can be restocked by hoppers!"));
+            return;
+        }
+
+        listing.setHopperFed(!listing.isHopperFed());
+        if (listing.isHopperFed()) {
+            player.sendMessage(config.prefixed("<green>Hoppers can now restock this listing."));
+        } else {
+            player.sendMessage(config.prefixed("<yellow>Hoppers can no longer restock this listing."));
+        }
     }
 
     /**
@@ -432,7 +481,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
      */
     private void handleBrowse(Player player, String[] args) {
         if (!player.hasPermission("bettershop.browse")) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>No permission!"));
+            player.sendMessage(config.prefixed("<red>No permission!"));
             return;
         }
 
@@ -448,18 +497,176 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
         gui.open();
     }
 
+    /**
+     * /shop search <item>
+     * Open the shop directory with listings whose item names resemble the query.
+     */
+    private void handleSearch(Player player, String[] args) {
+        if (!player.hasPermission("bettershop.browse")) {
+            player.sendMessage(config.prefixed("<red>No permission!"));
+            return;
+        }
+
+        if (args.length < 2) {
+            player.sendMessage(config.prefixed("<red>Usage: /shop search <item>"));
+            return;
+        }
+
+        String query = String.join(" ", Arrays.copyOfRange(args, 1, args.length));
+        new ShopDirectoryGUI(plugin, player, query).open();
+    }
+
+    /**
+     * /shop find <item> [max price] [--compass]
+     * Show the best nearby shops selling an item, weighing distance against price.
+     */
+    private void handleFind(Player player, String[] args) {
+        if (!player.hasPermission("bettershop.browse")) {
+            player.sendMessage(config.prefixed("<red>No permission!"));
+            return;
+        }
+
+        List<String> words = new ArrayList<>(Arrays.asList(args).subList(1, args.length));
+        boolean compass = words.remove("--compass");
+        Double maxPrice = null;
+        if (words.size() > 1) {
+            try {
+                maxPrice = Double.parseDouble(words.get(words.size() - 1));
+                words.remove(words.size() - 1);
+            } catch (NumberFormatException ignored) {
+                // Last word is part of the item name
+            }
+        }
+        if (words.isEmpty()) {
+            player.sendMessage(config.prefixed("<red>Usage: /shop find <item> [max price] [--compass]"));
+            return;
+        }
+
+        String query = String.join(" ", words);
+        MarketAggregates.ItemKey item = resolveItem(query);
+        if (item == null) {
+            player.sendMessage(config.message("find-no-item", "query", query));
+            return;
+        }
+
+        String itemName = item.isMythicItem() ? item.mythicItemId() : formatMaterial(item.material());
+        List<NearestShopFinder.Result> results = shopFinder.find(item, player.getLocation(), maxPrice, 5);
+        if (results.isEmpty()) {
+            player.sendMessage(maxPrice != null
+                    ? config.message("find-no-sellers-under", "item", itemName, "price", String.format("%.2f", maxPrice))
+                    : config.message("find-no-sellers", "item", itemName));
+            return;
+        }
+
+        player.sendMessage(miniMessage.deserialize("<gray>========== <gold>Best Shops: " + itemName + " <gray>=========="));
+        int rank = 1;
+        for (NearestShopFinder.Result result : results) {
+            ListingSnapshot listing = result.listing();
+            player.sendMessage(miniMessage.deserialize("<yellow>" + rank++ + ". <gold>$" + String.format("%.2f", listing.price())
+                    + " <gray>- <white>" + String.format("%.0f", result.distance()) + " blocks "
+                    + "<gray>(" + listing.x() + ", " + listing.y() + ", " + listing.z() + ") by <white>"
+                    + plugin.getOwnerNameCache().getName(listing.owner())));
+        }
+
+        // Point the player at the best result
+        ListingSnapshot best = results.get(0).listing();
+        Location origin = player.getLocation();
+        String direction = getDirection(best.x() + 0.5 - origin.getX(), best.z() + 0.5 - origin.getZ());
+        player.sendActionBar(miniMessage.deserialize("<gold>" + itemName + " <gray>» <white>"
+                + String.format("%.0f", results.get(0).distance()) + " blocks " + direction));
+        if (compass) {
+            player.setCompassTarget(new Location(origin.getWorld(), best.x(), best.y(), best.z()));
+            player.sendMessage(config.prefixed("<green>Your compass now points to the best shop."));
+        }
+    }
+
+    /**
+     * Resolve an item query to a traded item: an exact material name, or else the closest item name match.
+     */
+    private MarketAggregates.ItemKey resolveItem(String query) {
+        Material material = Material.matchMaterial(query.replace(' ', '_'));
+        if (material != null) {
+            return new MarketAggregates.ItemKey(material, null);
+        }
+
+        List<ItemNameIndex.Match> matches = registry.getItemNames().search(query);
+        if (matches.isEmpty()) {
+            return null;
+        }
+        ListingSnapshot best = matches.get(0).listing().snapshot();
+        return best.material() != null ? new MarketAggregates.ItemKey(best.material(), best.mythicItemId()) : null;
+    }
+
+    private String formatMaterial(Material material) {
+        String name = material.name().toLowerCase().replace("_", " ");
+        return name.substring(0, 1).toUpperCase() + name.substring(1);
+    }
+
+    /**
+     * Get the compass direction of a horizontal offset (north is -z).
+     */
+    private String getDirection(double dx, double dz) {
+        String[] directions = {"S", "SW", "W", "NW", "N", "NE", "E", "SE"};
+        double angle = Math.toDegrees(Math.atan2(-dx, dz));
+        int index = (int) Math.round(((angle % 360) + 360) % 360 / 45) % 8;
+        return directions[index];
+    }
+
+    /**
+     * /shop explain [material]
+     * Show how the directory search would run for the player, and search cache metrics (admin only).
+     */
+    private void handleExplain(Player player, String[] args) {
+        if (!player.hasPermission("bettershop.admin")) {
+            player.sendMessage(config.prefixed("<red>No permission!"));
+            return;
+        }
+
+        ShopSearchFilter filter = new ShopSearchFilter()
+                .nearLocation(player.getLocation(), null);
+        if (args.length > 1) {
+            Material material = Material.matchMaterial(args[1]);
+            if (material == null) {
+                player.sendMessage(config.message("unknown-material", "material", args[1]));
+                return;
+            }
+            filter.itemType(material);
+        }
+
+        player.sendMessage(miniMessage.deserialize("<gray>========== <gold>Search Plan <gray>=========="));
+        for (String line : filter.compile(registry).explain()) {
+            player.sendMessage(miniMessage.deserialize("<yellow>" + miniMessage.escapeTags(line)));
+        }
+
+        QueryResultCache cache = plugin.getListingSearchService().getResultCache();
+        player.sendMessage(miniMessage.deserialize("<gray>Result cache: <white>" + cache.size() + " entries, "
+                + cache.getHits() + " hits, " + cache.getMisses() + " misses <gray>("
+                + String.format("%.0f%%", cache.getHitRate() * 100) + " hit rate)"));
+    }
+
     /**
      * /shop reload
      * Reload configuration.
      */
     private void handleReload(Player player) {
         if (!player.hasPermission("bettershop.admin.reload")) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>No permission!"));
+            player.sendMessage(config.prefixed("<red>No permission!"));
             return;
         }
 
-        plugin.reloadConfiguration();
-        player.sendMessage(miniMessage.deserialize(config.getMessage("config-reloaded")));
+        if (plugin.reloadConfiguration()) {
+            player.sendMessage(config.message("config-reloaded"));
+        } else {
+            player.sendMessage(config.message("config-reload-failed"));
+        }
+    }
+
+    /**
+     * Get the listing for a targeted chest or its sign.
+     */
+    private Optional<Listing> getTargetListing(Block target) {
+        Location location = target.getLocation();
+        return registry.getListingAt(location).or(() -> registry.getListingBySign(location));
     }
 
     /**
@@ -476,9 +683,15 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
         player.sendMessage(miniMessage.deserialize("<yellow>/shop info <white>- View listing info"));
         player.sendMessage(miniMessage.deserialize("<yellow>/shop collect <white>- Collect earnings"));
         player.sendMessage(miniMessage.deserialize("<yellow>/shop remove <white>- Remove listing"));
+        if (config.isHopperFeedingEnabled()) {
+            player.sendMessage(miniMessage.deserialize("<yellow>/shop hopper <white>- Toggle hopper restocking"));
+        }
         player.sendMessage(miniMessage.deserialize("<yellow>/shop browse <white>- Browse all shops"));
+        player.sendMessage(miniMessage.deserialize("<yellow>/shop search <item> <white>- Search shops by item"));
+        player.sendMessage(miniMessage.deserialize("<yellow>/shop find <item> [max price] <white>- Find the best nearby seller"));
 
         if (player.hasPermission("bettershop.admin")) {
+            player.sendMessage(miniMessage.deserialize("<yellow>/shop explain [material] <white>- Show search plan and cache stats"));
             player.sendMessage(miniMessage.deserialize("<yellow>/shop reload <white>- Reload config"));
         }
     }
@@ -490,7 +703,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
         }
 
         if (args.length == 1) {
-            return Arrays.asList("create", "mode", "rename", "delete", "list", "info", "collect", "remove", "browse", "directory", "reload")
+            return Arrays.asList("create", "mode", "rename", "delete", "list", "info", "collect", "remove", "hopper", "browse", "directory", "search", "find", "explain", "reload")
                     .stream()
                     .filter(cmd -> cmd.startsWith(args[0].toLowerCase()))
                     .collect(Collectors.toList());
@@ -513,6 +726,10 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
                 case "rename":
                 case "create":
                     return Collections.singletonList("<name>");
+
+                case "search":
+                case "find":
+                    return Collections.singletonList("<item>");
             }
         }
 
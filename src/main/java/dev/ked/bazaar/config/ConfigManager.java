@@ -1,5 +1,9 @@
 package dev.ked.bazaar.config;
 
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.Plugin;
@@ -9,30 +13,51 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 /**
  * Manages plugin configuration files.
+ * Settings are read from an immutable snapshot that is replaced as a whole on reload.
  */
 public class ConfigManager {
+    private static final int MAX_PREFIXED_CACHE_SIZE = 256;
+
     private final Plugin plugin;
     private final Logger logger;
-    private FileConfiguration config;
-    private FileConfiguration messages;
+    private final MiniMessage miniMessage;
+    private volatile ConfigSnapshot settings;
+    private volatile LoadedMessages messages;
 
     public ConfigManager(Plugin plugin) {
         this.plugin = plugin;
         this.logger = plugin.getLogger();
+        this.miniMessage = MiniMessage.miniMessage();
     }
 
     /**
      * Load or reload all configuration files.
+     * If config.yml is invalid the previous settings are kept (or defaults, on first load).
+     *
+     * @return true if config.yml was valid and applied
      */
-    public void reload() {
+    public boolean reload() {
         // Save default config.yml if it doesn't exist
         plugin.saveDefaultConfig();
         plugin.reloadConfig();
-        config = plugin.getConfig();
+
+        ConfigSnapshot loaded;
+        boolean valid = true;
+        try {
+            loaded = ConfigSnapshot.load(plugin.getConfig());
+        } catch (InvalidConfigurationException e) {
+            logger.severe("Invalid config.yml: " + e.getMessage());
+            logger.warning(settings != null ? "Keeping previous configuration" : "Using default configuration");
+            valid = false;
+            loaded = settings != null ? settings : loadDefaults();
+        }
 
         // Load messages.yml
         File messagesFile = new File(plugin.getDataFolder(), "messages.yml");
@@ -40,206 +65,236 @@ public class ConfigManager {
             plugin.saveResource("messages.yml", false);
         }
 
-        messages = YamlConfiguration.loadConfiguration(messagesFile);
+        FileConfiguration loadedMessages = YamlConfiguration.loadConfiguration(messagesFile);
 
         // Load defaults from jar
         try (InputStream messagesStream = plugin.getResource("messages.yml")) {
             if (messagesStream != null) {
                 YamlConfiguration defaultMessages = YamlConfiguration.loadConfiguration(new InputStreamReader(messagesStream));
-                messages.setDefaults(defaultMessages);
+                loadedMessages.setDefaults(defaultMessages);
             }
         } catch (IOException e) {
             logger.warning("Could not load default messages: " + e.getMessage());
         }
 
-        logger.info("Configuration loaded successfully");
+        String prefix = loadedMessages.getString("prefix", "<gray>[BetterShop]</gray> ");
+
+        settings = loaded;
+        messages = new LoadedMessages(loadedMessages, prefix, miniMessage.deserialize(prefix),
+                new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+        if (valid) {
+            logger.info("Configuration loaded successfully");
+        }
+        return valid;
+    }
+
+    /**
+     * Build settings from the config.yml bundled in the jar.
+     */
+    private ConfigSnapshot loadDefaults() {
+        try (InputStream configStream = plugin.getResource("config.yml")) {
+            YamlConfiguration defaults = configStream != null
+                    ? YamlConfiguration.loadConfiguration(new InputStreamReader(configStream))
+                    : new YamlConfiguration();
+            return ConfigSnapshot.load(defaults);
+        } catch (IOException | InvalidConfigurationException e) {
+            throw new IllegalStateException("Bundled config.yml is invalid", e);
+        }
+    }
+
+    /**
+     * Get the current settings snapshot.
+     */
+    public ConfigSnapshot getSettings() {
+        return settings;
     }
 
     // Economy settings
     public boolean isEconomyEnabled() {
-        return config.getBoolean("economy.enabled", true);
+        return settings.economyEnabled();
     }
 
     public double getTransactionTax() {
-        return config.getDouble("economy.transactionTax", 0.0);
+        return settings.transactionTax();
     }
 
     // Shop limits
     public int getMaxShopsPerPlayer() {
-        return config.getInt("shops.maxShopsPerPlayer", config.getInt("limits.maxShopsPerPlayer", 3));
+        return settings.maxShopsPerPlayer();
     }
 
     public int getMaxListingsPerShop() {
-        return config.getInt("shops.maxListingsPerShop", 20);
+        return settings.maxListingsPerShop();
     }
 
     public String getDefaultShopName() {
-        return config.getString("shops.defaultShopName", "{player}'s Shop");
+        return settings.defaultShopName();
     }
 
     public double getMaxShopDistance() {
-        return config.getDouble("limits.maxShopDistance", 5.0);
+        return settings.maxShopDistance();
     }
 
     // Shop Mode settings
     public boolean isShopModeEnabled() {
-        return config.getBoolean("shopMode.enabled", true);
+        return settings.shopModeEnabled();
     }
 
     public int getShopModeTimeoutMinutes() {
-        return config.getInt("shopMode.timeoutMinutes", 10);
+        return settings.shopModeTimeoutMinutes();
     }
 
     public double getShopModeMaxDistance() {
-        return config.getDouble("shopMode.maxDistance", 100.0);
+        return settings.shopModeMaxDistance();
     }
 
     public boolean shouldSaveHotbar() {
-        return config.getBoolean("shopMode.saveHotbar", true);
+        return settings.saveHotbar();
     }
 
     // Territory settings
     public boolean isTerritoryAutoDetectEnabled() {
-        return config.getBoolean("territory.autoDetect", true);
+        return settings.territoryAutoDetect();
     }
 
     public boolean isTerritoryRestrictionEnabled() {
-        return config.getBoolean("territory.restrictToTerritory", true);
+        return settings.territoryRestriction();
     }
 
     public boolean isCommercialPlotRequired() {
-        return config.getBoolean("territory.requireCommercialPlot", false);
+        return settings.commercialPlotRequired();
     }
 
     public boolean isWildernessAllowed() {
-        // Check both old and new config locations for backward compatibility
-        if (isTownyEnabled()) {
-            return config.getBoolean("territory.allowWilderness", getTownyAllowWilderness());
-        }
-        if (isTownsAndNationsEnabled()) {
-            return config.getBoolean("territory.allowWilderness", getTownsAndNationsAllowWilderness());
-        }
-        return config.getBoolean("territory.allowWilderness", false);
+        return settings.wildernessAllowed();
     }
 
     // Visual settings
     public boolean areHologramsEnabled() {
-        return config.getBoolean("visuals.hologramsEnabled", true);
+        return settings.hologramsEnabled();
+    }
+
+    public int getHologramSweepPerTick() {
+        return settings.hologramSweepPerTick();
     }
 
     public boolean areParticlesEnabled() {
-        return config.getBoolean("visuals.particlesEnabled", true);
+        return settings.particlesEnabled();
     }
 
     public String getBuyColor() {
-        return config.getString("visuals.signFormat.buyColor", "<green>");
+        return settings.buyColor();
     }
 
     public String getSellColor() {
-        return config.getString("visuals.signFormat.sellColor", "<blue>");
+        return settings.sellColor();
     }
 
     // GUI settings
     public boolean isGuiEnabled() {
-        return config.getBoolean("gui.enabled", true);
+        return settings.guiEnabled();
     }
 
     public boolean isQuickBuyOnShiftClick() {
-        return config.getBoolean("gui.quickBuyOnShiftClick", true);
+        return settings.quickBuyOnShiftClick();
     }
 
     // World settings
     public List<String> getEnabledWorlds() {
-        return config.getStringList("enabledWorlds");
+        return settings.enabledWorlds();
     }
 
     public boolean isWorldEnabled(String worldName) {
-        List<String> enabledWorlds = getEnabledWorlds();
+        Set<String> enabledWorlds = settings.enabledWorldSet();
         return enabledWorlds.isEmpty() || enabledWorlds.contains(worldName);
     }
 
     // Protection settings
     public boolean shouldPreventHoppers() {
-        return config.getBoolean("protection.preventHoppers", true);
+        return settings.preventHoppers();
     }
 
     public boolean shouldPreventExplosions() {
-        return config.getBoolean("protection.preventExplosions", true);
+        return settings.preventExplosions();
     }
 
     public boolean shouldPreventPistons() {
-        return config.getBoolean("protection.preventPistons", true);
+        return settings.preventPistons();
+    }
+
+    public boolean isHopperFeedingEnabled() {
+        return settings.hopperFeedingEnabled();
     }
 
     // Towny Integration
     public boolean isTownyEnabled() {
-        return config.getBoolean("towny.enabled", false);
+        return settings.townyEnabled();
     }
 
     public boolean getTownyAllowWilderness() {
-        return config.getBoolean("towny.allowWilderness", true);
+        return settings.townyAllowWilderness();
     }
 
     public boolean getTownyRequireCommercialPlot() {
-        return config.getBoolean("towny.requireCommercialPlot", false);
+        return settings.townyRequireCommercialPlot();
     }
 
     public boolean getTownyShopTaxEnabled() {
-        return config.getBoolean("towny.shopTax.enabled", false);
+        return settings.townyShopTaxEnabled();
     }
 
     public double getTownyShopTaxRate() {
-        return config.getDouble("towny.shopTax.rate", 0.05);
+        return settings.townyShopTaxRate();
     }
 
     public boolean getTownyTransactionTaxEnabled() {
-        return config.getBoolean("towny.transactionTax.enabled", false);
+        return settings.townyTransactionTaxEnabled();
     }
 
     public double getTownyOutsiderTaxRate() {
-        return config.getDouble("towny.transactionTax.outsiderRate", 0.10);
+        return settings.townyOutsiderTaxRate();
     }
 
     public boolean getTownyCrossNationRestrictions() {
-        return config.getBoolean("towny.crossNationRestrictions", false);
+        return settings.townyCrossNationRestrictions();
     }
 
     // Towns and Nations Integration
     public boolean isTownsAndNationsEnabled() {
-        return config.getBoolean("townsandnations.enabled", false);
+        return settings.townsAndNationsEnabled();
     }
 
     public boolean getTownsAndNationsAllowWilderness() {
-        return config.getBoolean("townsandnations.allowWilderness", false);
+        return settings.townsAndNationsAllowWilderness();
     }
 
     public boolean getTownsAndNationsShopTaxEnabled() {
-        return config.getBoolean("townsandnations.shopTax.enabled", false);
+        return settings.townsAndNationsShopTaxEnabled();
     }
 
     public double getTownsAndNationsShopTaxRate() {
-        return config.getDouble("townsandnations.shopTax.rate", 0.05);
+        return settings.townsAndNationsShopTaxRate();
     }
 
     public boolean getTownsAndNationsTransactionTaxEnabled() {
-        return config.getBoolean("townsandnations.transactionTax.enabled", false);
+        return settings.townsAndNationsTransactionTaxEnabled();
     }
 
     public double getTownsAndNationsOutsiderTaxRate() {
-        return config.getDouble("townsandnations.transactionTax.outsiderRate", 0.15);
+        return settings.townsAndNationsOutsiderTaxRate();
     }
 
     public boolean getTownsAndNationsTreasuryFundingEnabled() {
-        return config.getBoolean("townsandnations.treasuryFunding.enabled", false);
+        return settings.townsAndNationsTreasuryFundingEnabled();
     }
 
     // Messages
     public String getMessage(String key) {
-        String message = messages.getString(key, "Message not found: " + key);
+        LoadedMessages loaded = messages;
+        String message = loaded.source().getString(key, "Message not found: " + key);
         // Always replace {prefix} with the actual prefix
-        String prefix = messages.getString("prefix", "<gray>[BetterShop]</gray> ");
-        message = message.replace("{prefix}", prefix);
-        return message;
+        return message.replace("{prefix}", loaded.rawPrefix());
     }
 
     public String getMessage(String key, String... replacements) {
@@ -253,4 +308,63 @@ public class ConfigManager {
 
         return message;
     }
-}
\ No newline at end of file
+
+    /**
+     * Get a compiled message. Messages without placeholders are cached components.
+     */
+    public Component message(String key) {
+        return getTemplate(key).render();
+    }
+
+    /**
+     * Get a compiled message with text placeholders given as key/value pairs.
+     */
+    public Component message(String key, String... replacements) {
+        return getTemplate(key).render(replacements);
+    }
+
+    /**
+     * Get a compiled message with component placeholders.
+     */
+    public Component message(String key, Map<String, ? extends ComponentLike> placeholders) {
+        return getTemplate(key).render(placeholders);
+    }
+
+    /**
+     * Get the parsed message prefix.
+     */
+    public Component getPrefix() {
+        return messages.prefix();
+    }
+
+    /**
+     * Prepend the parsed prefix to MiniMessage markup.
+     * Results are cached per markup string, up to a bound so dynamic text can't grow the cache without limit.
+     */
+    public Component prefixed(String markup) {
+        LoadedMessages loaded = messages;
+        Component cached = loaded.prefixed().get(markup);
+        if (cached != null) {
+            return cached;
+        }
+
+        Component component = loaded.prefix().append(miniMessage.deserialize(markup));
+        if (loaded.prefixed().size() < MAX_PREFIXED_CACHE_SIZE) {
+            loaded.prefixed().put(markup, component);
+        }
+        return component;
+    }
+
+    private MessageTemplate getTemplate(String key) {
+        LoadedMessages loaded = messages;
+        return loaded.templates().computeIfAbsent(key, k -> MessageTemplate.compile(miniMessage,
+                loaded.source().getString(k, "Message not found: " + k).replace("{prefix}", loaded.rawPrefix())));
+    }
+
+    /**
+     * messages.yml with its templates, compiled on first use and replaced together on reload.
+     */
+    private record LoadedMessages(FileConfiguration source, String rawPrefix, Component prefix,
+                                  Map<String, MessageTemplate> templates, Map<String, Component> prefixed) {
+    }
+}
@@ -0,0 +1,196 @@
+package dev.ked.bazaar.config;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable, validated view of config.yml.
+ * Built once per load so getters are plain field reads.
+ */
+public record ConfigSnapshot(
+        // Economy
+        boolean economyEnabled,
+        double transactionTax,
+
+        // Shops
+        int maxShopsPerPlayer,
+        int maxListingsPerShop,
+        String defaultShopName,
+        double maxShopDistance,
+
+        // Shop mode
+        boolean shopModeEnabled,
+        int shopModeTimeoutMinutes,
+        double shopModeMaxDistance,
+        boolean saveHotbar,
+
+        // Territory
+        boolean territoryAutoDetect,
+        boolean territoryRestriction,
+        boolean commercialPlotRequired,
+        boolean wildernessAllowed,
+
+        // Visuals
+        boolean hologramsEnabled,
+        int hologramSweepPerTick,
+        boolean particlesEnabled,
+        String buyColor,
+        String sellColor,
+
+        // GUI
+        boolean guiEnabled,
+        boolean quickBuyOnShiftClick,
+
+        // Worlds
+        List<String> enabledWorlds,
+        Set<String> enabledWorldSet,
+
+        // Protection
+        boolean preventHoppers,
+        boolean preventExplosions,
+        boolean preventPistons,
+        boolean hopperFeedingEnabled,
+
+        // Towny
+        boolean townyEnabled,
+        boolean townyAllowWilderness,
+        boolean townyRequireCommercialPlot,
+        boolean townyShopTaxEnabled,
+        double townyShopTaxRate,
+        boolean townyTransactionTaxEnabled,
+        double townyOutsiderTaxRate,
+        boolean townyCrossNationRestrictions,
+
+        // Towns and Nations
+        boolean townsAndNationsEnabled,
+        boolean townsAndNationsAllowWilderness,
+        boolean townsAndNationsShopTaxEnabled,
+        double townsAndNationsShopTaxRate,
+        boolean townsAndNationsTransactionTaxEnabled,
+        double townsAndNationsOutsiderTaxRate,
+        boolean townsAndNationsTreasuryFundingEnabled
+) {
+
+    /**
+     * Parse and validate a configuration.
+     *
+     * @throws InvalidConfigurationException listing every invalid value, if any
+     */
+    public static ConfigSnapshot load(FileConfiguration config) throws InvalidConfigurationException {
+        boolean townyEnabled = config.getBoolean("towny.enabled", false);
+        boolean townyAllowWilderness = config.getBoolean("towny.allowWilderness", true);
+        boolean tanEnabled = config.getBoolean("townsandnations.enabled", false);
+        boolean tanAllowWilderness = config.getBoolean("townsandnations.allowWilderness", false);
+
+        // Check both old and new config locations for backward compatibility
+        boolean wildernessDefault = townyEnabled ? townyAllowWilderness : tanEnabled && tanAllowWilderness;
+
+        List<String> enabledWorlds = List.copyOf(config.getStringList("enabledWorlds"));
+
+        ConfigSnapshot snapshot = new ConfigSnapshot(
+                config.getBoolean("economy.enabled", true),
+                config.getDouble("economy.transactionTax", 0.0),
+
+                config.getInt("shops.maxShopsPerPlayer", config.getInt("limits.maxShopsPerPlayer", 3)),
+                config.getInt("shops.maxListingsPerShop", 20),
+                config.getString("shops.defaultShopName", "{player}'s Shop"),
+                config.getDouble("limits.maxShopDistance", 5.0),
+
+                config.getBoolean("shopMode.enabled", true),
+                config.getInt("shopMode.timeoutMinutes", 10),
+                config.getDouble("shopMode.maxDistance", 100.0),
+                config.getBoolean("shopMode.saveHotbar", true),
+
+                config.getBoolean("territory.autoDetect", true),
+                config.getBoolean("territory.restrictToTerritory", true),
+                config.getBoolean("territory.requireCommercialPlot", false),
+                config.getBoolean("territory.allowWilderness", wildernessDefault),
+
+                config.getBoolean("visuals.hologramsEnabled", true),
+                config.getInt("visuals.hologramSweepPerTick", 20),
+                config.getBoolean("visuals.particlesEnabled", true),
+                config.getString("visuals.signFormat.buyColor", "<green>"),
+                config.getString("visuals.signFormat.sellColor", "<blue>"),
+
+                config.getBoolean("gui.enabled", true),
+                config.getBoolean("gui.quickBuyOnShiftClick", true),
+
+                enabledWorlds,
+                Set.copyOf(enabledWorlds),
+
+                config.getBoolean("protection.preventHoppers", true),
+                config.getBoolean("protection.preventExplosions", true),
+                config.getBoolean("protection.preventPistons", true),
+                config.getBoolean("protection.hopperFeeding", false),
+
+                townyEnabled,
+                townyAllowWilderness,
+                config.getBoolean("towny.requireCommercialPlot", false),
+                config.getBoolean("towny.shopTax.enabled", false),
+                config.getDouble("towny.shopTax.rate", 0.05),
+                config.getBoolean("towny.transactionTax.enabled", false),
+                config.getDouble("towny.transactionTax.outsiderRate", 0.10),
+                config.getBoolean("towny.crossNationRestrictions", false),
+
+                tanEnabled,
+                tanAllowWilderness,
+                config.getBoolean("townsandnations.shopTax.enabled", false),
+                config.getDouble("townsandnations.shopTax.rate", 0.05),
+                config.getBoolean("townsandnations.transactionTax.enabled", false),
+                config.getDouble("townsandnations.transactionTax.outsiderRate", 0.15),
+                config.getBoolean("townsandnations.treasuryFunding.enabled", false)
+        );
+
+        List<String> errors = snapshot.validate();
+        if (!errors.isEmpty()) {
+            throw new InvalidConfigurationException(String.join("; ", errors));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Check value ranges.
+     *
+     * @return A message per invalid value, empty if valid
+     */
+    private List<String> validate() {
+        List<String> errors = new ArrayList<>();
+
+        checkRate(errors, "economy.transactionTax", transactionTax);
+        checkRate(errors, "towny.shopTax.rate", townyShopTaxRate);
+        checkRate(errors, "towny.transactionTax.outsiderRate", townyOutsiderTaxRate);
+        checkRate(errors, "townsandnations.shopTax.rate", townsAndNationsShopTaxRate);
+        checkRate(errors, "townsandnations.transactionTax.outsiderRate", townsAndNationsOutsiderTaxRate);
+
+        if (maxShopsPerPlayer < 0) {
+            errors.add("shops.maxShopsPerPlayer must be 0 or greater");
+        }
+        if (maxListingsPerShop < 1) {
+            errors.add("shops.maxListingsPerShop must be at least 1");
+        }
+        if (!(maxShopDistance > 0)) {
+            errors.add("limits.maxShopDistance must be greater than 0");
+        }
+        if (shopModeTimeoutMinutes < 1) {
+            errors.add("shopMode.timeoutMinutes must be at least 1");
+        }
+        if (!(shopModeMaxDistance > 0)) {
+            errors.add("shopMode.maxDistance must be greater than 0");
+        }
+        if (hologramSweepPerTick < 1) {
+            errors.add("visuals.hologramSweepPerTick must be at least 1");
+        }
+
+        return errors;
+    }
+
+    private static void checkRate(List<String> errors, String path, double rate) {
+        if (!(rate >= 0 && rate <= 1)) {
+            errors.add(path + " must be between 0 and 1");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package dev.ked.bazaar.config;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A message parsed once from MiniMessage markup.
+ * {placeholder} slots are compiled to marker text and filled in by component replacement,
+ * so rendering never re-parses markup. Text placeholder values are inserted as plain text.
+ */
+public final class MessageTemplate {
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([a-z0-9_]+)}");
+    private static final char MARKER = '\u0000';
+    private static final Pattern SLOT = Pattern.compile(MARKER + "([a-z0-9_]+)" + MARKER);
+    private static final String SLOT_TAG = "bettershop_slot";
+
+    private final Component component;
+    private final boolean hasSlots;
+
+    private MessageTemplate(Component component, boolean hasSlots) {
+        this.component = component;
+        this.hasSlots = hasSlots;
+    }
+
+    /**
+     * Compile raw MiniMessage text. {prefix} should already be substituted.
+     */
+    public static MessageTemplate compile(MiniMessage miniMessage, String raw) {
+        Matcher matcher = PLACEHOLDER.matcher(raw);
+        if (!matcher.find()) {
+            return new MessageTemplate(miniMessage.deserialize(raw), false);
+        }
+
+        String markup = matcher.replaceAll("<" + SLOT_TAG + ":$1>");
+        TagResolver slots = TagResolver.resolver(SLOT_TAG, (args, context) ->
+                Tag.selfClosingInserting(Component.text(MARKER + args.popOr("slot name").value() + MARKER)));
+        return new MessageTemplate(miniMessage.deserialize(markup, slots), true);
+    }
+
+    /**
+     * Render the message without placeholder values. Unfilled slots render as {name}.
+     */
+    public Component render() {
+        return hasSlots ? render(Map.of()) : component;
+    }
+
+    /**
+     * Render the message with text placeholder values given as key/value pairs.
+     */
+    public Component render(String... replacements) {
+        if (!hasSlots) {
+            return component;
+        }
+
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i + 1 < replacements.length; i += 2) {
+            values.put(replacements[i], replacements[i + 1]);
+        }
+
+        // The builder keeps the style the slot was written with
+        return replaceSlots((name, builder) -> {
+            String value = values.get(name);
+            return value != null ? builder.content(value) : null;
+        });
+    }
+
+    /**
+     * Render the message with component placeholder values.
+     */
+    public Component render(Map<String, ? extends ComponentLike> values) {
+        if (!hasSlots) {
+            return component;
+        }
+        return replaceSlots((name, builder) -> values.get(name));
+    }
+
+    private Component replaceSlots(BiFunction<String, TextComponent.Builder, ComponentLike> values) {
+        // One pass over the tree for all slots
+        return component.replaceText(TextReplacementConfig.builder()
+                .match(SLOT)
+                .replacement((match, builder) -> {
+                    ComponentLike value = values.apply(match.group(1), builder);
+                    return value != null ? value : builder.content("{" + match.group(1) + "}");
+                })
+                .build());
+    }
+}
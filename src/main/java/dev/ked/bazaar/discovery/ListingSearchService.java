@@ -0,0 +1,72 @@
+package dev.ked.bazaar.discovery;
+
+import dev.ked.bazaar.shop.ShopRegistry;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Runs shop searches on a small worker pool against listing snapshots.
+ * Equivalent searches share their matches through a QueryResultCache.
+ * Results are handed back on the main thread.
+ */
+public class ListingSearchService {
+    private final Plugin plugin;
+    private final QueryResultCache resultCache;
+    private final ExecutorService executor;
+
+    public ListingSearchService(Plugin plugin, ShopRegistry registry) {
+        this.plugin = plugin;
+        this.resultCache = new QueryResultCache(registry);
+
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+        AtomicInteger threadId = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "BetterShop-Search-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Fetch a page of results in the background.
+     *
+     * @param filter The filter to apply; copied, so the caller may keep changing it
+     * @param after Cursor from the previous page, or null for the first page
+     * @param pageSize Maximum results on the page
+     * @param onResult Receives the page on the main thread
+     */
+    public void search(ShopSearchFilter filter, SearchPage.Cursor after, int pageSize, Consumer<SearchPage> onResult) {
+        ShopSearchFilter query = filter.copy();
+        CompletableFuture.supplyAsync(() -> resultCache.page(query, after, pageSize), executor)
+                .whenComplete((results, error) -> {
+                    if (error != null) {
+                        plugin.getLogger().log(Level.WARNING, "Shop search failed", error);
+                        return;
+                    }
+                    if (plugin.isEnabled()) {
+                        Bukkit.getScheduler().runTask(plugin, () -> onResult.accept(results));
+                    }
+                });
+    }
+
+    /**
+     * Get the cache of shared search matches, for its metrics.
+     */
+    public QueryResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Stop the worker pool (for plugin disable).
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,112 @@
+package dev.ked.bazaar.discovery;
+
+import dev.ked.bazaar.shop.Listing;
+import dev.ked.bazaar.shop.ListingSnapshot;
+import dev.ked.bazaar.shop.ListingType;
+import dev.ked.bazaar.shop.MarketAggregates;
+import dev.ked.bazaar.shop.ShopRegistry;
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Finds the best sell listings for an item by a combined distance and price score.
+ * Only the item's material index bucket is read, so a query touches the listings
+ * of one material rather than every listing.
+ */
+public class NearestShopFinder {
+    // Distances closer than this are not told apart, so a shop next door does not swamp price
+    private static final double MIN_DISTANCE_SCALE = 16;
+    private static final double MIN_PRICE_SCALE = 0.01;
+
+    private final ShopRegistry registry;
+
+    /**
+     * A listing found for a query.
+     *
+     * @param score Lower is better; 2 would be both the nearest and the cheapest
+     */
+    public record Result(ListingSnapshot listing, double distance, double score) {
+    }
+
+    public NearestShopFinder(ShopRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Find the best in-stock sell listings for an item in the player's world.
+     * Distance and price are each scaled by the best value among the candidates,
+     * so both count equally whatever the item costs.
+     *
+     * @param maxPrice Highest price to consider, or null for any
+     * @param limit Maximum results
+     * @return Best results first
+     */
+    public List<Result> find(MarketAggregates.ItemKey item, Location origin, Double maxPrice, int limit) {
+        UUID worldId = origin.getWorld().getUID();
+        double x = origin.getX(), y = origin.getY(), z = origin.getZ();
+        double priceLimit = maxPrice != null ? maxPrice : Double.POSITIVE_INFINITY;
+
+        // First pass: keep candidates and find the scales
+        Collection<Listing> bucket = registry.getMaterialIndex(item.material());
+        List<ListingSnapshot> candidates = new ArrayList<>();
+        double[] distances = new double[bucket.size()];
+        double nearest = Double.POSITIVE_INFINITY;
+        double cheapest = Double.POSITIVE_INFINITY;
+        for (Listing listing : bucket) {
+            ListingSnapshot snapshot = listing.snapshot();
+            if (snapshot.type() != ListingType.SELL
+                    || snapshot.material() != item.material()
+                    || !Objects.equals(snapshot.mythicItemId(), item.mythicItemId())
+                    || snapshot.price() > priceLimit
+                    || snapshot.stock() - snapshot.reservedStock() <= 0) {
+                continue;
+            }
+            double distanceSquared = snapshot.distanceSquared(worldId, x, y, z);
+            if (Double.isInfinite(distanceSquared)) {
+                continue;
+            }
+            double distance = Math.sqrt(distanceSquared);
+            if (candidates.size() == distances.length) {
+                distances = Arrays.copyOf(distances, distances.length * 2 + 1);
+            }
+            distances[candidates.size()] = distance;
+            candidates.add(snapshot);
+            nearest = Math.min(nearest, distance);
+            cheapest = Math.min(cheapest, snapshot.price());
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        double distanceScale = Math.max(MIN_DISTANCE_SCALE, nearest);
+        double priceScale = Math.max(MIN_PRICE_SCALE, cheapest);
+
+        // Second pass: keep the best few in a bounded max-heap
+        Comparator<Result> byScore = Comparator.comparingDouble(Result::score);
+        PriorityQueue<Result> best = new PriorityQueue<>(limit + 1, byScore.reversed());
+        for (int i = 0; i < candidates.size(); i++) {
+            ListingSnapshot snapshot = candidates.get(i);
+            double distance = distances[i];
+            double score = Math.max(distance, MIN_DISTANCE_SCALE) / distanceScale
+                    + Math.max(snapshot.price(), MIN_PRICE_SCALE) / priceScale;
+            if (best.size() < limit) {
+                best.add(new Result(snapshot, distance, score));
+            } else if (score < best.peek().score()) {
+                best.poll();
+                best.add(new Result(snapshot, distance, score));
+            }
+        }
+
+        List<Result> results = new ArrayList<>(best);
+        results.sort(byScore);
+        return results;
+    }
+}
@@ -0,0 +1,120 @@
+package dev.ked.bazaar.discovery;
+
+import dev.ked.bazaar.shop.Listing;
+import dev.ked.bazaar.shop.ListingSnapshot;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A compiled ShopSearchFilter: where candidates come from, and the checks they must pass.
+ * Checks run cheapest-to-reject first; the criterion served by the candidate source is not checked again.
+ * Built by ShopSearchFilter.compile and safe to run from any thread.
+ */
+public final class QueryPlan {
+    private final String sourceDescription;
+    private final int estimatedCandidates;
+    private final int totalListings;
+    private final Iterable<? extends Iterable<Listing>> sources;
+    private final Check[] checks;
+    private final Map<UUID, Double> relevance; // Name search score per listing ID, or null without a name query
+
+    QueryPlan(String sourceDescription, int estimatedCandidates, int totalListings,
+              Iterable<? extends Iterable<Listing>> sources, List<Check> checks, Map<UUID, Double> relevance) {
+        this.sourceDescription = sourceDescription;
+        this.estimatedCandidates = estimatedCandidates;
+        this.totalListings = totalListings;
+        this.sources = sources;
+        this.relevance = relevance;
+
+        // Expected cost of rejecting a listing: cheap checks that reject often go first
+        List<Check> ordered = new ArrayList<>(checks);
+        ordered.sort(Comparator.comparingDouble(Check::rank));
+        this.checks = ordered.toArray(new Check[0]);
+    }
+
+    /**
+     * Pass every candidate listing with an item that passes all checks to an action.
+     */
+    public void forEachMatch(Consumer<ListingSnapshot> action) {
+        scan((listing, snapshot) -> action.accept(snapshot));
+    }
+
+    /**
+     * Pass every matching listing itself to an action, for callers that read its snapshot again later.
+     */
+    public void forEachMatchingListing(Consumer<Listing> action) {
+        scan((listing, snapshot) -> action.accept(listing));
+    }
+
+    private void scan(BiConsumer<Listing, ListingSnapshot> action) {
+        Check[] checks = this.checks;
+        for (Iterable<Listing> source : sources) {
+            for (Listing listing : source) {
+                ListingSnapshot snapshot = listing.snapshot();
+                if (snapshot.material() == null) {
+                    continue;
+                }
+                if (passes(checks, snapshot)) {
+                    action.accept(listing, snapshot);
+                }
+            }
+        }
+    }
+
+    /**
+     * Order results by name search relevance first, if the filter has a name query, then by a sort.
+     */
+    public Comparator<ListingSnapshot> order(Comparator<ListingSnapshot> sort) {
+        if (relevance == null) {
+            return sort;
+        }
+        Map<UUID, Double> scores = relevance;
+        return Comparator.<ListingSnapshot>comparingDouble(listing -> -scores.getOrDefault(listing.id(), 0.0))
+                .thenComparing(sort);
+    }
+
+    private static boolean passes(Check[] checks, ListingSnapshot snapshot) {
+        for (Check check : checks) {
+            if (!check.test().test(snapshot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Describe the chosen candidate source and check order, one step per line.
+     */
+    public List<String> explain() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Source: " + sourceDescription + " (~" + estimatedCandidates + " of " + totalListings + " listings)");
+        if (checks.length == 0) {
+            lines.add("Checks: none");
+        }
+        for (int i = 0; i < checks.length; i++) {
+            Check check = checks[i];
+            lines.add((i + 1) + ". " + check.description()
+                    + String.format(" (passes ~%.0f%%, cost %d)", check.passRate() * 100, check.cost()));
+        }
+        return lines;
+    }
+
+    /**
+     * One criterion of a plan.
+     *
+     * @param passRate Estimated fraction of candidates that pass
+     * @param cost Relative cost of evaluating the check
+     */
+    record Check(String description, double passRate, int cost, Predicate<ListingSnapshot> test) {
+        double rank() {
+            return passRate >= 1 ? Double.MAX_VALUE : cost / (1 - passRate);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package dev.ked.bazaar.discovery;
+
+import dev.ked.bazaar.shop.Listing;
+import dev.ked.bazaar.shop.ShopRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shares the matches of equivalent searches between viewers.
+ * Entries are keyed by filter fingerprint and hold the matching listings as of a registry version;
+ * only changes that can alter which listings match make them stale. Each viewer's sort, including
+ * distance and stock, is applied to the listings' current snapshots when a page is taken.
+ * Safe to use from any thread.
+ */
+public class QueryResultCache {
+    private static final int MAX_ENTRIES = 256;
+
+    private final ShopRegistry registry;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private record Entry(long version, QueryPlan plan, List<Listing> matches) {
+    }
+
+    public QueryResultCache(ShopRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Get one page for a filter, reusing the matches of an equivalent earlier search if nothing has changed since.
+     * Filters without a fingerprint are always searched directly and not counted.
+     */
+    public SearchPage page(ShopSearchFilter filter, SearchPage.Cursor after, int pageSize) {
+        String fingerprint = filter.fingerprint();
+        if (fingerprint == null) {
+            return filter.page(registry, after, pageSize);
+        }
+
+        // Read the version first, so changes made while matching leave the entry stale
+        long version = registry.getVersion();
+        Entry entry = entries.get(fingerprint);
+        if (entry != null && entry.version() == version) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            QueryPlan plan = filter.compile(registry);
+            List<Listing> matches = new ArrayList<>();
+            plan.forEachMatchingListing(matches::add);
+            entry = new Entry(version, plan, Collections.unmodifiableList(matches));
+            store(fingerprint, entry);
+        }
+
+        return filter.page(entry.plan(), entry.matches(), after, pageSize);
+    }
+
+    private void store(String fingerprint, Entry entry) {
+        if (entries.size() >= MAX_ENTRIES && !entries.containsKey(fingerprint)) {
+            // Stale entries go first; if every entry is current, start over
+            entries.values().removeIf(existing -> existing.version() != entry.version());
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+        }
+        entries.put(fingerprint, entry);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Get the fraction of cacheable searches answered from the cache, from 0 to 1.
+     */
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0 : hits.get() / (double) total;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
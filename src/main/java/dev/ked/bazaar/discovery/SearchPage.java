@@ -0,0 +1,21 @@
+package dev.ked.bazaar.discovery;
+
+import dev.ked.bazaar.shop.ListingSnapshot;
+
+import java.util.List;
+
+/**
+ * One page of search results.
+ *
+ * @param results The listings on this page, in sort order
+ * @param totalMatches How many listings match the filter across all pages
+ * @param next Cursor for the following page, or null if this is the last page
+ */
+public record SearchPage(List<ListingSnapshot> results, int totalMatches, Cursor next) {
+
+    /**
+     * Position in a result set: the next page starts after this listing in sort order.
+     */
+    public record Cursor(ListingSnapshot after) {
+    }
+}
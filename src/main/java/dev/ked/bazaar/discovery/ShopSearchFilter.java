@@ -1,26 +1,51 @@
 package dev.ked.bazaar.discovery;
 
+import dev.ked.bazaar.shop.ItemNameIndex;
 import dev.ked.bazaar.shop.Listing;
+import dev.ked.bazaar.shop.ListingSnapshot;
 import dev.ked.bazaar.shop.ListingType;
+import dev.ked.bazaar.shop.ShopRegistry;
 import org.bukkit.Location;
 import org.bukkit.Material;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Filter and sort options for shop searches.
+ * Compiled into a QueryPlan over listing snapshots, so a filter can be evaluated off the main thread.
  */
 public class ShopSearchFilter {
+    // Largest nearby-chunk area walked instead of scanning another source
+    private static final int MAX_CHUNK_WALK = 256;
+
     private Material itemType;
+    private boolean exactItem; // Also match the mythic item ID (null = vanilla only)
+    private String mythicItemId;
     private ListingType listingType; // SELL or BUY
     private Double maxPrice;
     private Double minPrice;
     private Integer minStock;
-    private Location nearLocation;
+    // Copied from the location so the filter holds no live Bukkit objects
+    private UUID nearWorldId;
+    private String nearWorldName;
+    private double nearX, nearY, nearZ;
     private Double maxDistance;
     private UUID ownerId;
     private String ownerName;
+    private String territoryId;
+    private String nameQuery; // Fuzzy item name search; matches are ranked before the sort option applies
     private Boolean silkRoadOnly = null; // null = all, true = silk road only, false = non-silk road
     private SortOption sortBy = SortOption.PRICE_LOW_TO_HIGH;
 
@@ -33,6 +58,16 @@ public class ShopSearchFilter {
         return this;
     }
 
+    /**
+     * Match one exact item: a vanilla material, or a mythic item if an ID is given.
+     */
+    public ShopSearchFilter item(Material material, String mythicItemId) {
+        this.itemType = material;
+        this.exactItem = true;
+        this.mythicItemId = mythicItemId;
+        return this;
+    }
+
     public ShopSearchFilter listingType(ListingType listingType) {
         this.listingType = listingType;
         return this;
@@ -50,7 +85,15 @@ public class ShopSearchFilter {
     }
 
     public ShopSearchFilter nearLocation(Location location, Double maxDistance) {
-        this.nearLocation = location;
+        if (location != null && location.getWorld() != null) {
+            this.nearWorldId = location.getWorld().getUID();
+            this.nearWorldName = location.getWorld().getName();
+            this.nearX = location.getX();
+            this.nearY = location.getY();
+            this.nearZ = location.getZ();
+        } else {
+            this.nearWorldId = null;
+        }
         this.maxDistance = maxDistance;
         return this;
     }
@@ -65,6 +108,16 @@ public class ShopSearchFilter {
         return this;
     }
 
+    public ShopSearchFilter territory(String territoryId) {
+        this.territoryId = territoryId;
+        return this;
+    }
+
+    public ShopSearchFilter nameQuery(String nameQuery) {
+        this.nameQuery = nameQuery;
+        return this;
+    }
+
     public ShopSearchFilter silkRoadOnly(Boolean silkRoadOnly) {
         this.silkRoadOnly = silkRoadOnly;
         return this;
@@ -76,73 +129,289 @@ public class ShopSearchFilter {
     }
 
     /**
-     * Check if a listing matches this filter.
+     * Create an independent copy of this filter.
      */
-    public boolean matches(Listing listing) {
-        // Item type filter
-        if (itemType != null && listing.getItem().getType() != itemType) {
-            return false;
+    public ShopSearchFilter copy() {
+        ShopSearchFilter copy = new ShopSearchFilter();
+        copy.itemType = itemType;
+        copy.exactItem = exactItem;
+        copy.mythicItemId = mythicItemId;
+        copy.listingType = listingType;
+        copy.maxPrice = maxPrice;
+        copy.minPrice = minPrice;
+        copy.minStock = minStock;
+        copy.nearWorldId = nearWorldId;
+        copy.nearWorldName = nearWorldName;
+        copy.nearX = nearX;
+        copy.nearY = nearY;
+        copy.nearZ = nearZ;
+        copy.maxDistance = maxDistance;
+        copy.ownerId = ownerId;
+        copy.ownerName = ownerName;
+        copy.territoryId = territoryId;
+        copy.nameQuery = nameQuery;
+        copy.silkRoadOnly = silkRoadOnly;
+        copy.sortBy = sortBy;
+        return copy;
+    }
+
+    /**
+     * Get a key that is equal for filters matching the same listings, whatever their sort or viewer location.
+     * Filters with a distance limit depend on where the viewer stands, and filters with a minimum stock
+     * on counts that change without a new registry version, so neither has a fingerprint.
+     *
+     * @return The fingerprint, or null if the filter's matches cannot be shared
+     */
+    public String fingerprint() {
+        if (maxDistance != null || minStock != null) {
+            return null;
         }
+        return "item=" + itemType + (exactItem ? ":" + mythicItemId : "")
+                + "|type=" + listingType
+                + "|price=" + minPrice + ".." + maxPrice
+                + "|owner=" + ownerId
+                + "|territory=" + territoryId
+                + "|name=" + (nameQuery != null ? nameQuery.trim().toLowerCase(Locale.ROOT) : null)
+                + "|silkroad=" + silkRoadOnly;
+    }
+
+    /**
+     * Get one page of matching listings. Safe to call from any thread.
+     * Keeps only the best pageSize candidates in a bounded heap instead of sorting every match,
+     * so each page costs O(n log pageSize) however deep it is. Listings without an item are skipped.
+     *
+     * @param after Cursor from the previous page, or null for the first page
+     */
+    public SearchPage page(ShopRegistry registry, SearchPage.Cursor after, int pageSize) {
+        QueryPlan plan = compile(registry);
+        return page(plan, plan::forEachMatch, after, pageSize);
+    }
 
-        // Listing type filter (buy/sell)
-        if (listingType != null && listing.getType() != listingType) {
-            return false;
+    /**
+     * Get one page from listings matched earlier by a plan for an equivalent filter (see fingerprint).
+     * Only ordering is applied here, to each listing's current snapshot, so distance sorting uses
+     * this filter's location and stock sorting sees counts updated since the match.
+     */
+    public SearchPage page(QueryPlan plan, Collection<Listing> matches, SearchPage.Cursor after, int pageSize) {
+        return page(plan, action -> matches.forEach(listing -> action.accept(listing.snapshot())), after, pageSize);
+    }
+
+    private SearchPage page(QueryPlan plan, Consumer<Consumer<ListingSnapshot>> matches,
+                            SearchPage.Cursor after, int pageSize) {
+        // Break ties by ID so pages never overlap or skip listings
+        Comparator<ListingSnapshot> order = plan.order(getComparator()).thenComparing(ListingSnapshot::id);
+        ListingSnapshot start = after != null ? after.after() : null;
+
+        // Max-heap on sort order: the root is the worst listing kept so far
+        PriorityQueue<ListingSnapshot> best = new PriorityQueue<>(pageSize + 1, order.reversed());
+        int[] counts = new int[2]; // total matches, matches after the cursor
+
+        matches.accept(listing -> {
+            counts[0]++;
+            if (start != null && order.compare(listing, start) <= 0) {
+                return;
+            }
+            counts[1]++;
+            if (best.size() < pageSize) {
+                best.add(listing);
+            } else if (order.compare(listing, best.peek()) < 0) {
+                best.poll();
+                best.add(listing);
+            }
+        });
+
+        List<ListingSnapshot> results = new ArrayList<>(best);
+        results.sort(order);
+        SearchPage.Cursor next = counts[1] > pageSize ? new SearchPage.Cursor(results.get(results.size() - 1)) : null;
+        return new SearchPage(results, counts[0], next);
+    }
+
+    /**
+     * Compile this filter into a query plan against the registry's current indexes.
+     * The smallest index bucket among the material, owner, territory and nearby-chunk criteria
+     * becomes the candidate source; every other criterion becomes a check with unboxed bounds,
+     * ordered by estimated pass rate and cost.
+     */
+    public QueryPlan compile(ShopRegistry registry) {
+        int total = registry.getTotalListingCount();
+        List<QueryPlan.Check> checks = new ArrayList<>();
+
+        // Candidate sources: pick the smallest
+        String sourceDescription = "full scan";
+        int sourceSize = total;
+        Iterable<? extends Iterable<Listing>> sources = List.of(registry.getAllListings());
+        String sourceCriterion = null;
+
+        Map<UUID, Double> relevance = null;
+        if (nameQuery != null) {
+            List<ItemNameIndex.Match> matches = registry.getItemNames().search(nameQuery);
+            relevance = new HashMap<>(matches.size() * 2);
+            List<Listing> matched = new ArrayList<>(matches.size());
+            for (ItemNameIndex.Match match : matches) {
+                relevance.put(match.listing().getId(), match.score());
+                matched.add(match.listing());
+            }
+            if (matched.size() < sourceSize) {
+                sourceDescription = "name index (\"" + nameQuery + "\")";
+                sourceSize = matched.size();
+                sources = List.of(matched);
+                sourceCriterion = "name";
+            }
         }
 
-        // Price range filter
-        if (minPrice != null && listing.getPrice() < minPrice) {
-            return false;
+        if (itemType != null) {
+            Collection<Listing> bucket = registry.getMaterialIndex(itemType);
+            if (bucket.size() < sourceSize) {
+                sourceDescription = "material index (" + itemType.name() + ")";
+                sourceSize = bucket.size();
+                sources = List.of(bucket);
+                sourceCriterion = "material";
+            }
         }
-        if (maxPrice != null && listing.getPrice() > maxPrice) {
-            return false;
+        if (ownerId != null) {
+            Collection<Listing> bucket = registry.getOwnerIndex(ownerId);
+            if (bucket.size() < sourceSize) {
+                sourceDescription = "owner index (" + ownerId + ")";
+                sourceSize = bucket.size();
+                sources = List.of(bucket);
+                sourceCriterion = "owner";
+            }
+        }
+        Collection<Listing> territoryBucket = territoryId != null ? registry.getTerritoryIndex(territoryId) : null;
+        if (territoryBucket != null && territoryBucket.size() < sourceSize) {
+            sourceDescription = "territory index (" + territoryId + ")";
+            sourceSize = territoryBucket.size();
+            sources = List.of(territoryBucket);
+            sourceCriterion = "territory";
         }
+        if (nearWorldId != null && maxDistance != null) {
+            int minChunkX = (int) Math.floor((nearX - maxDistance) / 16);
+            int maxChunkX = (int) Math.floor((nearX + maxDistance) / 16);
+            int minChunkZ = (int) Math.floor((nearZ - maxDistance) / 16);
+            int maxChunkZ = (int) Math.floor((nearZ + maxDistance) / 16);
+            long chunkCount = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
 
-        // Stock filter (only for SELL listings)
-        if (minStock != null && listing.getType() == ListingType.SELL) {
-            if (listing.getStock() < minStock) {
-                return false;
+            // Only walk chunks when the area is small enough that the lookups beat the other sources
+            if (chunkCount <= MAX_CHUNK_WALK && chunkCount < sourceSize) {
+                List<Collection<Listing>> chunks = new ArrayList<>();
+                int nearbySize = 0;
+                for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                    for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                        Collection<Listing> bucket = registry.getChunkIndex(nearWorldName, chunkX, chunkZ);
+                        if (!bucket.isEmpty()) {
+                            chunks.add(bucket);
+                            nearbySize += bucket.size();
+                        }
+                    }
+                }
+                if (nearbySize < sourceSize) {
+                    sourceDescription = "chunk index (" + chunkCount + " chunks around " + nearWorldName + " "
+                            + (int) nearX + ", " + (int) nearZ + ")";
+                    sourceSize = nearbySize;
+                    sources = chunks;
+                    sourceCriterion = "nearby";
+                }
             }
         }
 
-        // Distance filter
-        if (nearLocation != null && maxDistance != null) {
-            if (!listing.getLocation().getWorld().equals(nearLocation.getWorld())) {
-                return false;
-            }
-            double distance = listing.getLocation().distance(nearLocation);
-            if (distance > maxDistance) {
-                return false;
+        double knownTotal = Math.max(1, total);
+
+        if (relevance != null && !"name".equals(sourceCriterion)) {
+            Map<UUID, Double> nameMatches = relevance;
+            checks.add(new QueryPlan.Check("name ~ \"" + nameQuery + "\"",
+                    nameMatches.size() / knownTotal, 1,
+                    listing -> nameMatches.containsKey(listing.id())));
+        }
+
+        // Equality criteria not served by the source; pass rates are exact from bucket sizes
+        if (itemType != null) {
+            Material material = itemType;
+            // Still checked behind the material index, which keeps the material a listing was registered with
+            checks.add(new QueryPlan.Check("material = " + material.name(),
+                    "material".equals(sourceCriterion) ? 1 : registry.getMaterialIndex(material).size() / knownTotal, 1,
+                    listing -> listing.material() == material));
+        }
+        if (exactItem) {
+            String mythicId = mythicItemId;
+            checks.add(new QueryPlan.Check(mythicId != null ? "mythic item = " + mythicId : "not a mythic item",
+                    mythicId != null ? 0.1 : 0.9, 1,
+                    listing -> Objects.equals(listing.mythicItemId(), mythicId)));
+        }
+        if (ownerId != null && !"owner".equals(sourceCriterion)) {
+            UUID owner = ownerId;
+            checks.add(new QueryPlan.Check("owner = " + owner,
+                    registry.getOwnerIndex(owner).size() / knownTotal, 1,
+                    listing -> listing.owner().equals(owner)));
+        }
+        if (territoryBucket != null && !"territory".equals(sourceCriterion)) {
+            Set<UUID> territoryListings = new HashSet<>();
+            for (Listing listing : territoryBucket) {
+                territoryListings.add(listing.getId());
             }
+            checks.add(new QueryPlan.Check("territory = " + territoryId,
+                    territoryListings.size() / knownTotal, 2,
+                    listing -> territoryListings.contains(listing.id())));
         }
 
-        // Owner filter
-        if (ownerId != null && !listing.getOwner().equals(ownerId)) {
-            return false;
+        // Range and flag criteria use fixed pass-rate estimates
+        if (listingType != null) {
+            ListingType type = listingType;
+            checks.add(new QueryPlan.Check("type = " + type, 0.5, 1,
+                    listing -> listing.type() == type));
+        }
+        if (silkRoadOnly != null) {
+            boolean silkRoad = silkRoadOnly;
+            checks.add(new QueryPlan.Check("silk road = " + silkRoad, silkRoad ? 0.2 : 0.8, 1,
+                    listing -> listing.silkRoadEnabled() == silkRoad));
+        }
+        if (minPrice != null || maxPrice != null) {
+            double min = minPrice != null ? minPrice : Double.NEGATIVE_INFINITY;
+            double max = maxPrice != null ? maxPrice : Double.POSITIVE_INFINITY;
+            checks.add(new QueryPlan.Check("price in [" + min + ", " + max + "]",
+                    minPrice != null && maxPrice != null ? 0.3 : 0.5, 1,
+                    listing -> listing.price() >= min && listing.price() <= max));
+        }
+        if (minStock != null) {
+            int stock = minStock;
+            // Only SELL listings are held to the stock minimum
+            checks.add(new QueryPlan.Check("stock >= " + stock + " (sell only)", 0.7, 1,
+                    listing -> listing.type() != ListingType.SELL || listing.stock() >= stock));
+        }
+        if (nearWorldId != null && maxDistance != null) {
+            UUID worldId = nearWorldId;
+            double x = nearX, y = nearY, z = nearZ;
+            double maxDistanceSquared = maxDistance * maxDistance;
+            // A chunk walk covers the bounding square, so most candidates already pass
+            checks.add(new QueryPlan.Check("distance <= " + maxDistance,
+                    "nearby".equals(sourceCriterion) ? 0.8 : 0.3, 3,
+                    listing -> listing.distanceSquared(worldId, x, y, z) <= maxDistanceSquared));
         }
-        // Note: ownerName filter would require BetterShop to store player names
 
-        return true;
+        return new QueryPlan(sourceDescription, sourceSize, total, sources, checks, relevance);
     }
 
     /**
      * Get comparator for sorting.
      */
-    public Comparator<Listing> getComparator() {
+    public Comparator<ListingSnapshot> getComparator() {
         return switch (sortBy) {
-            case PRICE_LOW_TO_HIGH -> Comparator.comparingDouble(Listing::getPrice);
-            case PRICE_HIGH_TO_LOW -> Comparator.comparingDouble(Listing::getPrice).reversed();
-            case STOCK_HIGH_TO_LOW -> Comparator.comparingInt(Listing::getStock).reversed();
-            case STOCK_LOW_TO_HIGH -> Comparator.comparingInt(Listing::getStock);
+            case PRICE_LOW_TO_HIGH -> Comparator.comparingDouble(ListingSnapshot::price);
+            case PRICE_HIGH_TO_LOW -> Comparator.comparingDouble(ListingSnapshot::price).reversed();
+            case STOCK_HIGH_TO_LOW -> Comparator.comparingInt(ListingSnapshot::stock).reversed();
+            case STOCK_LOW_TO_HIGH -> Comparator.comparingInt(ListingSnapshot::stock);
             case DISTANCE_NEAR_TO_FAR -> {
-                if (nearLocation == null) {
-                    yield Comparator.comparing(l -> l.getItem().getType().name());
+                if (nearWorldId == null) {
+                    yield Comparator.comparing(listing -> listing.material().name());
                 }
-                yield Comparator.comparingDouble(listing ->
-                        listing.getLocation().distance(nearLocation));
+                yield Comparator.comparingDouble(this::distanceSquared);
             }
         };
     }
 
+    private double distanceSquared(ListingSnapshot listing) {
+        return listing.distanceSquared(nearWorldId, nearX, nearY, nearZ);
+    }
+
     public enum SortOption {
         PRICE_LOW_TO_HIGH("Price: Low → High"),
         PRICE_HIGH_TO_LOW("Price: High → Low"),
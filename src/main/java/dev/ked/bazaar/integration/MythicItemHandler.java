@@ -1,28 +1,197 @@
 package dev.ked.bazaar.integration;
 
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.Plugin;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handles MythicMobs item integration for BetterShop.
  * Uses reflection to avoid compile-time dependency on MythicMobs.
+ * The reflective surface is resolved once at startup into method handles.
  */
-public class MythicItemHandler {
+public class MythicItemHandler implements Listener {
+    private static final String MYTHIC_BUKKIT_CLASS = "io.lumine.mythic.bukkit.MythicBukkit";
+    private static final String MYTHIC_ITEM_CLASS = "io.lumine.mythic.core.items.MythicItem";
+    private static final String BUKKIT_ADAPTER_CLASS = "io.lumine.mythic.bukkit.BukkitAdapter";
+    private static final String RELOAD_EVENT_CLASS = "io.lumine.mythic.bukkit.events.MythicReloadedEvent";
+
+    // PDC key MythicMobs stores an item's internal name under
+    private static final NamespacedKey MYTHIC_TYPE_KEY = new NamespacedKey("mythicmobs", "type");
+    // Cached marker for items the MythicMobs API reported as non-mythic
+    private static final String NOT_MYTHIC = "";
+    private static final int MAX_TYPE_CACHE_SIZE = 1024;
+
     private final Plugin plugin;
     private boolean enabled = false;
 
+    // Bound to the MythicMobs item manager: (String) -> Optional<MythicItem>
+    private MethodHandle getItemHandle;
+    // Bound to the MythicMobs item manager: (ItemStack) -> String
+    private MethodHandle getMythicTypeHandle;
+    // Bound to the MythicMobs item manager: () -> Collection<MythicItem>
+    private MethodHandle getItemsHandle;
+    // (MythicItem, int) -> ItemStack
+    private MethodHandle generateItemStackHandle;
+    // (MythicItem) -> String
+    private MethodHandle getInternalNameHandle;
+
+    // Template items and plain display names per mythic ID, cleared on MythicMobs reload
+    private final Map<String, ItemStack> templateCache = new ConcurrentHashMap<>();
+    private final Map<String, String> displayNameCache = new ConcurrentHashMap<>();
+    // Mythic type per item fingerprint, for items without a readable PDC tag
+    private final Map<ItemFingerprint, String> mythicTypeCache = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so dependent caches can tell when to rebuild
+    private volatile int cacheVersion = 0;
+
     public MythicItemHandler(Plugin plugin) {
         this.plugin = plugin;
         try {
-            Class.forName("io.lumine.mythic.bukkit.MythicBukkit");
+            resolveMethodHandles();
             this.enabled = true;
             plugin.getLogger().info("MythicMobs item integration enabled");
         } catch (ClassNotFoundException e) {
             plugin.getLogger().warning("MythicMobs not found - mythic items disabled");
+        } catch (Throwable e) {
+            plugin.getLogger().warning("Unsupported MythicMobs version - mythic items disabled: " + e.getMessage());
+        }
+
+        if (enabled) {
+            registerReloadListener();
+        }
+    }
+
+    /**
+     * Resolve the MythicMobs API methods we use and bind them to the item manager.
+     */
+    private void resolveMethodHandles() throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+        Class<?> mythicBukkitClass = Class.forName(MYTHIC_BUKKIT_CLASS);
+        Object mythicBukkit = mythicBukkitClass.getMethod("inst").invoke(null);
+        Object itemManager = mythicBukkitClass.getMethod("getItemManager").invoke(mythicBukkit);
+        Class<?> itemManagerClass = itemManager.getClass();
+
+        getItemHandle = lookup.unreflect(itemManagerClass.getMethod("getItem", String.class))
+                .bindTo(itemManager)
+                .asType(MethodType.methodType(Optional.class, String.class));
+        getMythicTypeHandle = lookup.unreflect(itemManagerClass.getMethod("getMythicTypeFromItem", ItemStack.class))
+                .bindTo(itemManager)
+                .asType(MethodType.methodType(String.class, ItemStack.class));
+        getItemsHandle = lookup.unreflect(itemManagerClass.getMethod("getItems"))
+                .bindTo(itemManager)
+                .asType(MethodType.methodType(Object.class));
+
+        Class<?> mythicItemClass = Class.forName(MYTHIC_ITEM_CLASS);
+        Method generateMethod = mythicItemClass.getMethod("generateItemStack", int.class);
+        MethodHandle generate = lookup.unreflect(generateMethod);
+        if (!ItemStack.class.isAssignableFrom(generateMethod.getReturnType())) {
+            // Newer versions return an AbstractItemStack - adapt it to a Bukkit ItemStack
+            Method adapt = Class.forName(BUKKIT_ADAPTER_CLASS).getMethod("adapt", generateMethod.getReturnType());
+            generate = MethodHandles.filterReturnValue(generate, lookup.unreflect(adapt));
+        }
+        generateItemStackHandle = generate.asType(MethodType.methodType(ItemStack.class, Object.class, int.class));
+        getInternalNameHandle = lookup.unreflect(mythicItemClass.getMethod("getInternalName"))
+                .asType(MethodType.methodType(String.class, Object.class));
+    }
+
+    /**
+     * Listen for MythicMobs reloads to invalidate cached items.
+     * Registered reflectively to avoid a compile-time dependency.
+     */
+    private void registerReloadListener() {
+        try {
+            Class<? extends Event> reloadEvent = Class.forName(RELOAD_EVENT_CLASS).asSubclass(Event.class);
+            plugin.getServer().getPluginManager().registerEvent(reloadEvent, this, EventPriority.MONITOR,
+                    (listener, event) -> invalidateCache(), plugin);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            plugin.getLogger().warning("MythicMobs reload event not found - mythic item cache will not refresh on reload");
+        }
+    }
+
+    /**
+     * Clear cached mythic item templates and display names.
+     */
+    public void invalidateCache() {
+        templateCache.clear();
+        displayNameCache.clear();
+        mythicTypeCache.clear();
+        cacheVersion++;
+    }
+
+    /**
+     * Get the current cache version. Changes whenever the mythic item caches are invalidated.
+     */
+    public int getCacheVersion() {
+        return cacheVersion;
+    }
+
+    /**
+     * Get a cached template of a MythicMobs item for display purposes.
+     * The template is generated once per mythic ID; use getMythicItem for items handed to players.
+     *
+     * @param mythicId The internal MythicMobs item ID
+     * @return A copy of the template item, or null if not found
+     */
+    public ItemStack getMythicItemTemplate(String mythicId) {
+        if (!enabled || mythicId == null) return null;
+
+        ItemStack template = templateCache.get(mythicId);
+        if (template == null) {
+            template = getMythicItem(mythicId, 1);
+            if (template == null) {
+                return null;
+            }
+            templateCache.put(mythicId, template);
         }
+        return template.clone();
+    }
+
+    /**
+     * Get the plain (unformatted) display name of a MythicMobs item.
+     *
+     * @param mythicId The internal MythicMobs item ID
+     * @return The display name, or the mythic ID if the item has none
+     */
+    public String getMythicDisplayName(String mythicId) {
+        if (mythicId == null) return null;
+        if (!enabled) return mythicId;
+
+        String cached = displayNameCache.get(mythicId);
+        if (cached != null) {
+            return cached;
+        }
+
+        String displayName = mythicId;
+        ItemStack template = getMythicItemTemplate(mythicId);
+        if (template != null) {
+            ItemMeta meta = template.getItemMeta();
+            Component name = meta != null && meta.hasDisplayName() ? meta.displayName() : null;
+            if (name != null) {
+                displayName = PlainTextComponentSerializer.plainText().serialize(name);
+            }
+        }
+
+        displayNameCache.put(mythicId, displayName);
+        return displayName;
     }
 
     /**
@@ -36,23 +205,11 @@ public class MythicItemHandler {
         if (!enabled) return null;
 
         try {
-            // Use reflection to avoid compile-time dependency
-            Class<?> mythicBukkitClass = Class.forName("io.lumine.mythic.bukkit.MythicBukkit");
-            Object mythicBukkit = mythicBukkitClass.getMethod("inst").invoke(null);
-            Object itemManager = mythicBukkitClass.getMethod("getItemManager").invoke(mythicBukkit);
-
-            Object itemOptional = itemManager.getClass()
-                .getMethod("getItem", String.class)
-                .invoke(itemManager, mythicId);
-
-            if ((boolean) itemOptional.getClass().getMethod("isPresent").invoke(itemOptional)) {
-                Object mythicItem = itemOptional.getClass().getMethod("get").invoke(itemOptional);
-                ItemStack item = (ItemStack) mythicItem.getClass()
-                    .getMethod("generateItemStack", int.class)
-                    .invoke(mythicItem, amount);
-                return item;
+            Optional<?> itemOptional = (Optional<?>) getItemHandle.invokeExact(mythicId);
+            if (itemOptional.isPresent()) {
+                return (ItemStack) generateItemStackHandle.invokeExact((Object) itemOptional.get(), amount);
             }
-        } catch (Exception e) {
+        } catch (Throwable e) {
             plugin.getLogger().warning("Failed to get MythicMobs item: " + mythicId);
             e.printStackTrace();
         }
@@ -68,22 +225,15 @@ public class MythicItemHandler {
      * @return true if the item matches the mythic ID
      */
     public boolean isMythicItem(ItemStack item, String mythicId) {
-        if (!enabled || item == null) return false;
+        if (!enabled || item == null || mythicId == null) return false;
 
-        try {
-            Class<?> mythicBukkitClass = Class.forName("io.lumine.mythic.bukkit.MythicBukkit");
-            Object mythicBukkit = mythicBukkitClass.getMethod("inst").invoke(null);
-            Object itemManager = mythicBukkitClass.getMethod("getItemManager").invoke(mythicBukkit);
-
-            // Get internal name from item
-            String internalName = (String) itemManager.getClass()
-                .getMethod("getMythicTypeFromItem", ItemStack.class)
-                .invoke(itemManager, item);
-
-            return mythicId.equalsIgnoreCase(internalName);
-        } catch (Exception e) {
+        // Cheap reject: a different material can never be this mythic item
+        ItemStack template = templateCache.get(mythicId);
+        if (template != null && template.getType() != item.getType()) {
             return false;
         }
+
+        return mythicId.equalsIgnoreCase(getMythicId(item));
     }
 
     /**
@@ -96,16 +246,9 @@ public class MythicItemHandler {
         if (!enabled) return false;
 
         try {
-            Class<?> mythicBukkitClass = Class.forName("io.lumine.mythic.bukkit.MythicBukkit");
-            Object mythicBukkit = mythicBukkitClass.getMethod("inst").invoke(null);
-            Object itemManager = mythicBukkitClass.getMethod("getItemManager").invoke(mythicBukkit);
-
-            Object itemOptional = itemManager.getClass()
-                .getMethod("getItem", String.class)
-                .invoke(itemManager, mythicId);
-
-            return (boolean) itemOptional.getClass().getMethod("isPresent").invoke(itemOptional);
-        } catch (Exception e) {
+            Optional<?> itemOptional = (Optional<?>) getItemHandle.invokeExact(mythicId);
+            return itemOptional.isPresent();
+        } catch (Throwable e) {
             return false;
         }
     }
@@ -119,22 +262,16 @@ public class MythicItemHandler {
         if (!enabled) return new ArrayList<>();
 
         try {
-            Class<?> mythicBukkitClass = Class.forName("io.lumine.mythic.bukkit.MythicBukkit");
-            Object mythicBukkit = mythicBukkitClass.getMethod("inst").invoke(null);
-            Object itemManager = mythicBukkitClass.getMethod("getItemManager").invoke(mythicBukkit);
-
-            @SuppressWarnings("unchecked")
-            Object items = itemManager.getClass().getMethod("getItems").invoke(itemManager);
+            Object items = (Object) getItemsHandle.invokeExact();
 
             List<String> itemIds = new ArrayList<>();
             if (items instanceof Iterable) {
                 for (Object item : (Iterable<?>) items) {
-                    String internalName = (String) item.getClass().getMethod("getInternalName").invoke(item);
-                    itemIds.add(internalName);
+                    itemIds.add((String) getInternalNameHandle.invokeExact(item));
                 }
             }
             return itemIds;
-        } catch (Exception e) {
+        } catch (Throwable e) {
             plugin.getLogger().warning("Failed to get MythicMobs item list");
             e.printStackTrace();
             return new ArrayList<>();
@@ -148,21 +285,34 @@ public class MythicItemHandler {
      * @return The mythic item ID, or null if not a mythic item
      */
     public String getMythicId(ItemStack item) {
-        if (!enabled || item == null) return null;
+        if (!enabled || item == null || !item.hasItemMeta()) return null;
 
-        try {
-            Class<?> mythicBukkitClass = Class.forName("io.lumine.mythic.bukkit.MythicBukkit");
-            Object mythicBukkit = mythicBukkitClass.getMethod("inst").invoke(null);
-            Object itemManager = mythicBukkitClass.getMethod("getItemManager").invoke(mythicBukkit);
+        // Fast path: read the type tag MythicMobs writes into the item's PDC
+        ItemMeta meta = item.getItemMeta();
+        PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        if (pdc.has(MYTHIC_TYPE_KEY, PersistentDataType.STRING)) {
+            return pdc.get(MYTHIC_TYPE_KEY, PersistentDataType.STRING);
+        }
 
-            String internalName = (String) itemManager.getClass()
-                .getMethod("getMythicTypeFromItem", ItemStack.class)
-                .invoke(itemManager, item);
+        // Slow path: ask MythicMobs once per distinct item
+        ItemFingerprint fingerprint = new ItemFingerprint(item.getType(), meta);
+        String cached = mythicTypeCache.get(fingerprint);
+        if (cached != null) {
+            return cached.isEmpty() ? null : cached;
+        }
 
-            return internalName;
-        } catch (Exception e) {
+        String internalName;
+        try {
+            internalName = (String) getMythicTypeHandle.invokeExact(item);
+        } catch (Throwable e) {
             return null;
         }
+
+        if (mythicTypeCache.size() >= MAX_TYPE_CACHE_SIZE) {
+            mythicTypeCache.clear();
+        }
+        mythicTypeCache.put(fingerprint, internalName != null ? internalName : NOT_MYTHIC);
+        return internalName;
     }
 
     /**
@@ -173,4 +323,10 @@ public class MythicItemHandler {
     public boolean isEnabled() {
         return enabled;
     }
+
+    /**
+     * Identity of an item stack ignoring its amount.
+     */
+    private record ItemFingerprint(Material type, ItemMeta meta) {
+    }
 }
@@ -1,24 +1,21 @@
 package dev.ked.bazaar.listeners;
 
 import dev.ked.bazaar.BazaarPlugin;
-import dev.ked.bazaar.ui.ShopDirectoryGUI;
+import dev.ked.bazaar.ui.GUIHolder;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.inventory.Inventory;
-
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
 
 /**
  * Handles clicks in BetterShop GUIs.
+ * Routes events by the inventory's GUIHolder, so other inventories only cost one type check.
  */
 public class GUIListener implements Listener {
 
     private final BazaarPlugin plugin;
-    private final Map<UUID, ShopDirectoryGUI> activeGUIs = new HashMap<>();
 
     public GUIListener(BazaarPlugin plugin) {
         this.plugin = plugin;
@@ -26,36 +23,29 @@ public class GUIListener implements Listener {
 
     @EventHandler
     public void onInventoryClick(InventoryClickEvent event) {
-        if (!(event.getWhoClicked() instanceof Player)) {
+        if (!(event.getInventory().getHolder(false) instanceof GUIHolder holder)) {
             return;
         }
 
-        Player player = (Player) event.getWhoClicked();
-        Inventory inventory = event.getInventory();
-        String title = event.getView().title().toString();
-
-        // Check if this is a shop directory GUI
-        if (title.contains("Shop Directory") || title.contains("Silk Road Shops")) {
-            event.setCancelled(true);
+        event.setCancelled(true);
 
-            ShopDirectoryGUI gui = activeGUIs.get(player.getUniqueId());
-            if (gui != null && gui.getInventory().equals(inventory)) {
-                gui.handleClick(event.getRawSlot());
-            }
+        // Only clicks in the GUI itself are handled; the player's own inventory is just locked
+        if (event.getWhoClicked() instanceof Player && event.getClickedInventory() == event.getInventory()) {
+            holder.getGui().handleClick(event);
         }
     }
 
-    /**
-     * Register an active GUI for a player.
-     */
-    public void registerGUI(UUID playerId, ShopDirectoryGUI gui) {
-        activeGUIs.put(playerId, gui);
+    @EventHandler
+    public void onInventoryDrag(InventoryDragEvent event) {
+        if (event.getInventory().getHolder(false) instanceof GUIHolder) {
+            event.setCancelled(true);
+        }
     }
 
-    /**
-     * Unregister a player's active GUI.
-     */
-    public void unregisterGUI(UUID playerId) {
-        activeGUIs.remove(playerId);
+    @EventHandler
+    public void onInventoryClose(InventoryCloseEvent event) {
+        if (event.getInventory().getHolder(false) instanceof GUIHolder holder) {
+            holder.getGui().handleClose(event);
+        }
     }
 }
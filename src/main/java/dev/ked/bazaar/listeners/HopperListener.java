@@ -0,0 +1,112 @@
+package dev.ked.bazaar.listeners;
+
+import dev.ked.bazaar.config.ConfigManager;
+import dev.ked.bazaar.shop.BlockPositionSet;
+import dev.ked.bazaar.shop.Listing;
+import dev.ked.bazaar.shop.ListingType;
+import dev.ked.bazaar.shop.ShopRegistry;
+import dev.ked.bazaar.shop.StockTracker;
+import org.bukkit.Location;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.DoubleChestInventory;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Guards listing chests against hoppers and lets hopper-fed sell listings be restocked from storage.
+ * Moves between non-listing containers return after a type check and a position set lookup.
+ */
+public class HopperListener implements Listener {
+    private final ConfigManager config;
+    private final ShopRegistry registry;
+    private final BlockPositionSet chestPositions;
+    private final StockTracker stockTracker;
+
+    public HopperListener(ConfigManager config, ShopRegistry registry, StockTracker stockTracker) {
+        this.config = config;
+        this.registry = registry;
+        this.chestPositions = registry.getChestPositions();
+        this.stockTracker = stockTracker;
+    }
+
+    /**
+     * Block hoppers from taking items out of listings, and from putting items into
+     * listings unless the listing is hopper-fed and the item is the one it sells.
+     */
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onHopperMove(InventoryMoveItemEvent event) {
+        if (chestPositions.isEmpty() || !config.shouldPreventHoppers()) {
+            return;
+        }
+
+        Listing source = getListing(event.getSource());
+        Listing destination = getListing(event.getDestination());
+        if (source == null && destination == null) {
+            return;
+        }
+
+        if (source != null || !canFeed(destination, event.getItem())) {
+            event.setCancelled(true);
+        }
+    }
+
+    /**
+     * Keep cached stock in step with items hoppers moved in or out of listings.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHopperMoveComplete(InventoryMoveItemEvent event) {
+        if (chestPositions.isEmpty()) {
+            return;
+        }
+
+        Listing source = getListing(event.getSource());
+        Listing destination = getListing(event.getDestination());
+        if (source == null && destination == null) {
+            return;
+        }
+
+        ItemStack item = event.getItem();
+        if (source != null && stockTracker.matches(source, item)) {
+            source.adjustStock(-item.getAmount());
+        }
+        if (destination != null && stockTracker.matches(destination, item)) {
+            destination.adjustStock(item.getAmount());
+        }
+    }
+
+    /**
+     * Check if hoppers may put an item into a listing.
+     */
+    private boolean canFeed(Listing listing, ItemStack item) {
+        return config.isHopperFeedingEnabled()
+                && listing.isHopperFed()
+                && listing.getType() == ListingType.SELL
+                && stockTracker.matches(listing, item);
+    }
+
+    /**
+     * Get the listing an inventory belongs to, or null. Either half of a double chest counts.
+     */
+    private Listing getListing(Inventory inventory) {
+        if (inventory.getType() != InventoryType.CHEST) {
+            return null;
+        }
+
+        if (inventory instanceof DoubleChestInventory doubleChest) {
+            Listing left = getListing(doubleChest.getLeftSide().getLocation());
+            return left != null ? left : getListing(doubleChest.getRightSide().getLocation());
+        }
+        return getListing(inventory.getLocation());
+    }
+
+    private Listing getListing(Location location) {
+        if (location == null || !chestPositions.contains(location)) {
+            return null;
+        }
+        return registry.getListingAt(location).orElse(null);
+    }
+}
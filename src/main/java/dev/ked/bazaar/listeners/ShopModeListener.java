@@ -6,8 +6,8 @@ import dev.ked.bazaar.mode.ShopModeItems;
 import dev.ked.bazaar.mode.ShopModeManager;
 import dev.ked.bazaar.mode.ShopModeSession;
 import dev.ked.bazaar.shop.ShopEntityManager;
-import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
@@ -18,6 +18,7 @@ import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
 import org.bukkit.inventory.ItemStack;
@@ -33,14 +34,12 @@ public class ShopModeListener implements Listener {
     private final ShopModeManager modeManager;
     private final ShopEntityManager shopManager;
     private final ConfigManager config;
-    private final MiniMessage miniMessage;
 
     public ShopModeListener(BazaarPlugin plugin, ShopModeManager modeManager, ShopEntityManager shopManager, ConfigManager config) {
         this.plugin = plugin;
         this.modeManager = modeManager;
         this.shopManager = shopManager;
         this.config = config;
-        this.miniMessage = MiniMessage.miniMessage();
     }
 
     /**
@@ -69,14 +68,30 @@ public class ShopModeListener implements Listener {
         ShopModeSession session = sessionOpt.get();
 
         // Check if teleporting to a different world or too far
-        if (!event.getTo().getWorld().equals(session.getEntryLocation().getWorld()) ||
-                event.getTo().distance(session.getEntryLocation()) > config.getShopModeMaxDistance()) {
+        if (session.isTooFarFromEntry(event.getTo(), config.getShopModeMaxDistance())) {
 
             modeManager.exitShopMode(player, false);
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<yellow>Shop mode exited due to teleportation."));
+            player.sendMessage(config.prefixed("<yellow>Shop mode exited due to teleportation."));
         }
     }
 
+    /**
+     * Handle player movement - exit shop mode if too far from entry.
+     * Only checked when the player crosses a block boundary.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+
+        if (from.getBlockX() == to.getBlockX() && from.getBlockZ() == to.getBlockZ()
+                && from.getBlockY() == to.getBlockY()) {
+            return;
+        }
+
+        modeManager.checkDistance(event.getPlayer(), to);
+    }
+
     /**
      * Handle dropping shop mode items - prevent it.
      */
@@ -87,7 +102,7 @@ public class ShopModeListener implements Listener {
 
         if (modeItems.isShopModeChest(item)) {
             event.setCancelled(true);
-            event.getPlayer().sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>You cannot drop shop mode items!"));
+            event.getPlayer().sendMessage(config.prefixed("<red>You cannot drop shop mode items!"));
         }
     }
 
@@ -116,7 +131,7 @@ public class ShopModeListener implements Listener {
 
             // Prevent moving out of slots 7 and 8
             event.setCancelled(true);
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>You cannot move shop mode items!"));
+            player.sendMessage(config.prefixed("<red>You cannot move shop mode items!"));
         }
     }
 
@@ -161,7 +176,7 @@ public class ShopModeListener implements Listener {
         Optional<ShopModeSession> sessionOpt = modeManager.getActiveSession(player);
         if (sessionOpt.isEmpty()) {
             event.setCancelled(true);
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>You must be in shop mode to place this!"));
+            player.sendMessage(config.prefixed("<red>You must be in shop mode to place this!"));
             return;
         }
 
@@ -171,7 +186,7 @@ public class ShopModeListener implements Listener {
         // Validate territory restrictions
         if (!shopManager.canPlaceListingHere(session.getShopId(), placed.getLocation())) {
             event.setCancelled(true);
-            player.sendMessage(miniMessage.deserialize(config.getMessage("shop-territory-mismatch")));
+            player.sendMessage(config.message("shop-territory-mismatch"));
             return;
         }
 
@@ -179,7 +194,7 @@ public class ShopModeListener implements Listener {
         if (shopManager.hasReachedListingLimit(session.getShopId())) {
             event.setCancelled(true);
             int maxListings = config.getMaxListingsPerShop();
-            player.sendMessage(miniMessage.deserialize(config.getMessage("listing-limit-reached", "limit", String.valueOf(maxListings))));
+            player.sendMessage(config.message("listing-limit-reached", "limit", String.valueOf(maxListings)));
             return;
         }
 
@@ -219,7 +234,7 @@ public class ShopModeListener implements Listener {
         if (configGUI != null) {
             configGUI.openSellConfig(player, session.getShopId(), location);
         } else {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Configuration GUI not available!"));
+            player.sendMessage(config.prefixed("<red>Configuration GUI not available!"));
         }
     }
 
@@ -232,7 +247,7 @@ public class ShopModeListener implements Listener {
         if (configGUI != null) {
             configGUI.openBuyConfig(player, session.getShopId(), location);
         } else {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Configuration GUI not available!"));
+            player.sendMessage(config.prefixed("<red>Configuration GUI not available!"));
         }
     }
 }
@@ -0,0 +1,127 @@
+package dev.ked.bazaar.listeners;
+
+import dev.ked.bazaar.config.ConfigManager;
+import dev.ked.bazaar.shop.Listing;
+import dev.ked.bazaar.shop.ProtectedBlockIndex;
+import dev.ked.bazaar.shop.ShopRegistry;
+import org.bukkit.Tag;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.SignChangeEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+
+import java.util.Optional;
+
+/**
+ * Protects listing chests and their signs from explosions, pistons and sign tampering.
+ * Block lists are checked against the registry's per-chunk position index;
+ * signs are resolved to their listing through the registry's sign index.
+ */
+public class ShopProtectionListener implements Listener {
+    private final ConfigManager config;
+    private final ShopRegistry registry;
+    private final ProtectedBlockIndex protectedBlocks;
+
+    public ShopProtectionListener(ConfigManager config, ShopRegistry registry) {
+        this.config = config;
+        this.registry = registry;
+        this.protectedBlocks = registry.getProtectedBlocks();
+    }
+
+    /**
+     * Only let the owner or an admin break a listing's sign.
+     * The sign is placed again on the listing's next render.
+     */
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onSignBreak(BlockBreakEvent event) {
+        Optional<Listing> listingOpt = getSignListing(event.getBlock());
+        if (listingOpt.isEmpty()) {
+            return;
+        }
+
+        Listing listing = listingOpt.get();
+        Player player = event.getPlayer();
+        if (listing.getOwner().equals(player.getUniqueId()) || player.hasPermission("bettershop.admin")) {
+            registry.setListingSign(listing, null);
+        } else {
+            event.setCancelled(true);
+            player.sendMessage(config.message("not-shop-owner"));
+        }
+    }
+
+    /**
+     * Stop shop signs from opening the sign editor when clicked.
+     */
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onSignClick(PlayerInteractEvent event) {
+        if (event.getAction() == Action.RIGHT_CLICK_BLOCK && getSignListing(event.getClickedBlock()).isPresent()) {
+            event.setCancelled(true);
+        }
+    }
+
+    /**
+     * Prevent editing shop signs.
+     */
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onSignChange(SignChangeEvent event) {
+        if (getSignListing(event.getBlock()).isPresent()) {
+            event.setCancelled(true);
+        }
+    }
+
+    /**
+     * Prevent entity explosions (TNT, creepers) from destroying shop blocks.
+     */
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        if (config.shouldPreventExplosions()) {
+            protectedBlocks.removeProtected(event.blockList());
+        }
+    }
+
+    /**
+     * Prevent block explosions (beds, respawn anchors) from destroying shop blocks.
+     */
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        if (config.shouldPreventExplosions()) {
+            protectedBlocks.removeProtected(event.blockList());
+        }
+    }
+
+    /**
+     * Prevent pistons from moving or breaking shop blocks.
+     */
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        if (config.shouldPreventPistons() && protectedBlocks.containsAny(event.getBlocks())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        if (config.shouldPreventPistons() && protectedBlocks.containsAny(event.getBlocks())) {
+            event.setCancelled(true);
+        }
+    }
+
+    /**
+     * Get the listing a sign belongs to. Non-sign blocks are rejected by type before the index lookup.
+     */
+    private Optional<Listing> getSignListing(Block block) {
+        if (block == null || !Tag.ALL_SIGNS.isTagged(block.getType())) {
+            return Optional.empty();
+        }
+        return registry.getListingBySign(block.getLocation());
+    }
+}
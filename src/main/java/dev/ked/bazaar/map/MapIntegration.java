@@ -3,7 +3,6 @@ package dev.ked.bazaar.map;
 import dev.ked.bazaar.BazaarPlugin;
 import dev.ked.bazaar.shop.Listing;
 import dev.ked.bazaar.shop.ShopRegistry;
-import org.bukkit.Bukkit;
 
 /**
  * Abstract base class for map integrations (BlueMap, Dynmap, Squaremap).
@@ -89,10 +88,10 @@ public abstract class MapIntegration {
     }
 
     /**
-     * Get owner name from UUID.
+     * Get owner name from UUID. Never blocks; unknown owners show a placeholder until resolved.
      */
     protected String getOwnerName(Listing listing) {
-        return Bukkit.getOfflinePlayer(listing.getOwner()).getName();
+        return plugin.getOwnerNameCache().getName(listing.getOwner());
     }
 
     /**
@@ -0,0 +1,80 @@
+package dev.ked.bazaar.mode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for scheduling shop mode session checks.
+ * Each bucket holds the sessions due in one second, so advancing the wheel
+ * only touches sessions that are actually due.
+ */
+public class SessionTimingWheel {
+    private static final int WHEEL_SIZE = 512; // Seconds per revolution
+
+    private final List<List<Entry>> buckets = new ArrayList<>(WHEEL_SIZE);
+    private long currentSecond;
+
+    public SessionTimingWheel(long startSecond) {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.currentSecond = startSecond;
+    }
+
+    /**
+     * Schedule a session check.
+     * @param session The session to check
+     * @param dueSecond Epoch second the check is due (clamped to the next second)
+     */
+    public void schedule(ShopModeSession session, long dueSecond) {
+        long due = Math.max(dueSecond, currentSecond + 1);
+        buckets.get(bucketIndex(due)).add(new Entry(session, due));
+    }
+
+    /**
+     * Advance the wheel, handing every session that became due to the callback.
+     * Entries scheduled for a later revolution stay in their bucket.
+     * @param nowSecond The current epoch second
+     * @param onDue Callback for due sessions (may reschedule)
+     */
+    public void advance(long nowSecond, Consumer<ShopModeSession> onDue) {
+        while (currentSecond < nowSecond) {
+            currentSecond++;
+            List<Entry> bucket = buckets.get(bucketIndex(currentSecond));
+            if (bucket.isEmpty()) {
+                continue;
+            }
+
+            List<ShopModeSession> due = new ArrayList<>();
+            Iterator<Entry> iterator = bucket.iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.dueSecond <= currentSecond) {
+                    iterator.remove();
+                    due.add(entry.session);
+                }
+            }
+
+            // Callbacks run after iteration so they can reschedule into this bucket
+            due.forEach(onDue);
+        }
+    }
+
+    /**
+     * Remove all scheduled checks.
+     */
+    public void clear() {
+        for (List<Entry> bucket : buckets) {
+            bucket.clear();
+        }
+    }
+
+    private int bucketIndex(long second) {
+        return (int) Math.floorMod(second, (long) WHEEL_SIZE);
+    }
+
+    private record Entry(ShopModeSession session, long dueSecond) {
+    }
+}
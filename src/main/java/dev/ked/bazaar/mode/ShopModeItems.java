@@ -15,66 +15,58 @@ import java.util.Arrays;
 
 /**
  * Utility class for creating and identifying shop mode special chest items.
+ * The chest items are built once and handed out as copies.
  */
 public class ShopModeItems {
     private static final String NBT_KEY = "bettershop_mode_chest";
     private static final String SELL_VALUE = "sell";
     private static final String BUY_VALUE = "buy";
+    private static final NamespacedKey MODE_CHEST_KEY = new NamespacedKey("bettershop", NBT_KEY);
+
+    // Prototypes are never handed out directly - callers get clones
+    private final ItemStack sellChestPrototype;
+    private final ItemStack buyChestPrototype;
+
+    public ShopModeItems() {
+        this.sellChestPrototype = buildChestItem(
+                Component.text("SELL Chest", NamedTextColor.GREEN, TextDecoration.BOLD),
+                "SELL listing (you sell items TO players)",
+                SELL_VALUE);
+        this.buyChestPrototype = buildChestItem(
+                Component.text("BUY Chest", NamedTextColor.BLUE, TextDecoration.BOLD),
+                "BUY listing (you buy items FROM players)",
+                BUY_VALUE);
+    }
 
     /**
      * Create a SELL chest item for shop mode.
      */
     public ItemStack createSellChestItem() {
-        ItemStack item = new ItemStack(Material.CHEST);
-        ItemMeta meta = item.getItemMeta();
-
-        // Set display name (green)
-        meta.displayName(Component.text("SELL Chest", NamedTextColor.GREEN, TextDecoration.BOLD)
-                .decoration(TextDecoration.ITALIC, false));
-
-        // Set lore
-        meta.lore(Arrays.asList(
-                Component.text("Place this chest to create a", NamedTextColor.GRAY)
-                        .decoration(TextDecoration.ITALIC, false),
-                Component.text("SELL listing (you sell items TO players)", NamedTextColor.GRAY)
-                        .decoration(TextDecoration.ITALIC, false),
-                Component.empty(),
-                Component.text("This chest is infinite!", NamedTextColor.YELLOW)
-                        .decoration(TextDecoration.ITALIC, false)
-        ));
-
-        // Add glow effect
-        meta.addEnchant(Enchantment.UNBREAKING, 1, true);
-        meta.addItemFlags(ItemFlag.HIDE_ENCHANTS);
-
-        // Add NBT tag
-        NamespacedKey key = new NamespacedKey("bettershop", NBT_KEY);
-        meta.getPersistentDataContainer().set(key, PersistentDataType.STRING, SELL_VALUE);
-
-        // Make unbreakable (prevent accidental destruction)
-        meta.setUnbreakable(true);
-        meta.addItemFlags(ItemFlag.HIDE_UNBREAKABLE);
-
-        item.setItemMeta(meta);
-        return item;
+        return sellChestPrototype.clone();
     }
 
     /**
      * Create a BUY chest item for shop mode.
      */
     public ItemStack createBuyChestItem() {
+        return buyChestPrototype.clone();
+    }
+
+    /**
+     * Build a shop mode chest item.
+     */
+    private ItemStack buildChestItem(Component displayName, String listingDescription, String value) {
         ItemStack item = new ItemStack(Material.CHEST);
         ItemMeta meta = item.getItemMeta();
 
-        // Set display name (blue)
-        meta.displayName(Component.text("BUY Chest", NamedTextColor.BLUE, TextDecoration.BOLD)
-                .decoration(TextDecoration.ITALIC, false));
+        // Set display name
+        meta.displayName(displayName.decoration(TextDecoration.ITALIC, false));
 
         // Set lore
         meta.lore(Arrays.asList(
                 Component.text("Place this chest to create a", NamedTextColor.GRAY)
                         .decoration(TextDecoration.ITALIC, false),
-                Component.text("BUY listing (you buy items FROM players)", NamedTextColor.GRAY)
+                Component.text(listingDescription, NamedTextColor.GRAY)
                         .decoration(TextDecoration.ITALIC, false),
                 Component.empty(),
                 Component.text("This chest is infinite!", NamedTextColor.YELLOW)
@@ -86,10 +78,9 @@ public class ShopModeItems {
         meta.addItemFlags(ItemFlag.HIDE_ENCHANTS);
 
         // Add NBT tag
-        NamespacedKey key = new NamespacedKey("bettershop", NBT_KEY);
-        meta.getPersistentDataContainer().set(key, PersistentDataType.STRING, BUY_VALUE);
+        meta.getPersistentDataContainer().set(MODE_CHEST_KEY, PersistentDataType.STRING, value);
 
-        // Make unbreakable
+        // Make unbreakable (prevent accidental destruction)
         meta.setUnbreakable(true);
         meta.addItemFlags(ItemFlag.HIDE_UNBREAKABLE);
 
@@ -98,47 +89,36 @@ public class ShopModeItems {
     }
 
     /**
-     * Check if an item is a SELL chest.
+     * Get the shop mode tag value of an item.
+     * Rejects anything that isn't a chest before touching ItemMeta.
+     * @return The tag value, or null if not a shop mode chest
      */
-    public boolean isSellChest(ItemStack item) {
-        if (item == null || !item.hasItemMeta()) {
-            return false;
+    private String getModeChestValue(ItemStack item) {
+        if (item == null || item.getType() != Material.CHEST || !item.hasItemMeta()) {
+            return null;
         }
 
-        ItemMeta meta = item.getItemMeta();
-        NamespacedKey key = new NamespacedKey("bettershop", NBT_KEY);
-
-        if (!meta.getPersistentDataContainer().has(key, PersistentDataType.STRING)) {
-            return false;
-        }
+        return item.getItemMeta().getPersistentDataContainer().get(MODE_CHEST_KEY, PersistentDataType.STRING);
+    }
 
-        String value = meta.getPersistentDataContainer().get(key, PersistentDataType.STRING);
-        return SELL_VALUE.equals(value);
+    /**
+     * Check if an item is a SELL chest.
+     */
+    public boolean isSellChest(ItemStack item) {
+        return SELL_VALUE.equals(getModeChestValue(item));
     }
 
     /**
      * Check if an item is a BUY chest.
      */
     public boolean isBuyChest(ItemStack item) {
-        if (item == null || !item.hasItemMeta()) {
-            return false;
-        }
-
-        ItemMeta meta = item.getItemMeta();
-        NamespacedKey key = new NamespacedKey("bettershop", NBT_KEY);
-
-        if (!meta.getPersistentDataContainer().has(key, PersistentDataType.STRING)) {
-            return false;
-        }
-
-        String value = meta.getPersistentDataContainer().get(key, PersistentDataType.STRING);
-        return BUY_VALUE.equals(value);
+        return BUY_VALUE.equals(getModeChestValue(item));
     }
 
     /**
      * Check if an item is any shop mode chest.
      */
     public boolean isShopModeChest(ItemStack item) {
-        return isSellChest(item) || isBuyChest(item);
+        return getModeChestValue(item) != null;
     }
 }
@@ -2,11 +2,13 @@ package dev.ked.bazaar.mode;
 
 import dev.ked.bazaar.BazaarPlugin;
 import dev.ked.bazaar.config.ConfigManager;
+import dev.ked.bazaar.config.MessageTemplate;
 import dev.ked.bazaar.shop.ShopEntity;
 import dev.ked.bazaar.shop.ShopRegistry;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.scheduler.BukkitTask;
@@ -19,15 +21,20 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Manages shop mode sessions for players.
  * Handles entering/exiting shop mode, timeout checks, and distance validation.
+ * Timeouts are scheduled on a timing wheel; distance is checked from movement events.
  */
 public class ShopModeManager {
     private final BazaarPlugin plugin;
     private final ConfigManager config;
     private final ShopRegistry registry;
     private final ShopModeItems modeItems;
-    private final MiniMessage miniMessage;
+    private final MessageTemplate actionBarTemplate;
+
+    // How often the status action bar is re-sent to a player in shop mode
+    private static final long ACTION_BAR_REFRESH_SECONDS = 30;
 
     private final Map<UUID, ShopModeSession> activeSessions = new ConcurrentHashMap<>();
+    private final SessionTimingWheel timingWheel = new SessionTimingWheel(currentSecond());
     private BukkitTask checkTask;
 
     public ShopModeManager(BazaarPlugin plugin, ConfigManager config, ShopRegistry registry) {
@@ -35,7 +42,8 @@ public class ShopModeManager {
         this.config = config;
         this.registry = registry;
         this.modeItems = new ShopModeItems();
-        this.miniMessage = MiniMessage.miniMessage();
+        this.actionBarTemplate = MessageTemplate.compile(MiniMessage.miniMessage(),
+                "<gray>Shop Mode: <white>{name} <gray>| <green>SELL [7] <blue>BUY [8] <gray>| <yellow>/shop mode exit");
     }
 
     /**
@@ -46,8 +54,8 @@ public class ShopModeManager {
             return;
         }
 
-        // Check every 30 seconds
-        checkTask = Bukkit.getScheduler().runTaskTimer(plugin, this::checkSessions, 600L, 600L);
+        // Advance the timing wheel every second
+        checkTask = Bukkit.getScheduler().runTaskTimer(plugin, this::advanceTimingWheel, 20L, 20L);
     }
 
     /**
@@ -58,6 +66,7 @@ public class ShopModeManager {
             checkTask.cancel();
             checkTask = null;
         }
+        timingWheel.clear();
     }
 
     /**
@@ -68,20 +77,20 @@ public class ShopModeManager {
      */
     public boolean enterShopMode(Player player, UUID shopId) {
         if (!config.isShopModeEnabled()) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Shop mode is disabled!"));
+            player.sendMessage(config.prefixed("<red>Shop mode is disabled!"));
             return false;
         }
 
         // Check if already in shop mode
         if (isInShopMode(player)) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<yellow>You are already in shop mode!"));
+            player.sendMessage(config.prefixed("<yellow>You are already in shop mode!"));
             return false;
         }
 
         // Verify shop exists
         Optional<ShopEntity> shopOpt = registry.getShopById(shopId);
         if (shopOpt.isEmpty()) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Shop not found!"));
+            player.sendMessage(config.prefixed("<red>Shop not found!"));
             return false;
         }
 
@@ -89,7 +98,7 @@ public class ShopModeManager {
 
         // Verify ownership
         if (!shop.getOwner().equals(player.getUniqueId())) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>You don't own this shop!"));
+            player.sendMessage(config.prefixed("<red>You don't own this shop!"));
             return false;
         }
 
@@ -109,18 +118,19 @@ public class ShopModeManager {
                 previousHotbar
         );
 
+        session.setActionBar(buildActionBar(shop.getName()));
         activeSessions.put(player.getUniqueId(), session);
+        scheduleNextCheck(session);
 
         // Give special chest items
         player.getInventory().setItem(7, modeItems.createSellChestItem());
         player.getInventory().setItem(8, modeItems.createBuyChestItem());
 
         // Send messages
-        String message = config.getMessage("shop-mode-entered", "name", shop.getName());
-        player.sendMessage(miniMessage.deserialize(message));
+        player.sendMessage(config.message("shop-mode-entered", "name", shop.getName()));
 
         // Send action bar
-        sendActionBar(player, shop.getName());
+        player.sendActionBar(session.getActionBar());
 
         return true;
     }
@@ -157,7 +167,7 @@ public class ShopModeManager {
 
         // Send exit message
         if (sendMessage) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("shop-mode-exited")));
+            player.sendMessage(config.message("shop-mode-exited"));
         }
 
         return true;
@@ -209,51 +219,78 @@ public class ShopModeManager {
     }
 
     /**
-     * Send action bar to player showing shop mode status.
+     * Build the action bar showing shop mode status.
      */
-    private void sendActionBar(Player player, String shopName) {
-        String actionBar = "<gray>Shop Mode: <white>" + shopName + " <gray>| <green>SELL [7] <blue>BUY [8] <gray>| <yellow>/shop mode exit";
-        player.sendActionBar(miniMessage.deserialize(actionBar));
+    private Component buildActionBar(String shopName) {
+        return actionBarTemplate.render("name", shopName);
     }
 
     /**
-     * Periodic check for session timeouts and distance.
+     * Advance the timing wheel, handling only sessions that are due.
      */
-    private void checkSessions() {
-        int timeoutMinutes = config.getShopModeTimeoutMinutes();
-        double maxDistance = config.getShopModeMaxDistance();
+    private void advanceTimingWheel() {
+        timingWheel.advance(currentSecond(), this::checkSession);
+    }
 
-        for (Map.Entry<UUID, ShopModeSession> entry : activeSessions.entrySet()) {
-            UUID playerId = entry.getKey();
-            ShopModeSession session = entry.getValue();
+    /**
+     * Check a due session for timeout and refresh its action bar.
+     */
+    private void checkSession(ShopModeSession session) {
+        UUID playerId = session.getPlayerId();
 
-            Player player = Bukkit.getPlayer(playerId);
-            if (player == null || !player.isOnline()) {
-                // Player is offline, remove session
-                activeSessions.remove(playerId);
-                continue;
-            }
+        // Skip stale entries for sessions that have since ended
+        if (activeSessions.get(playerId) != session) {
+            return;
+        }
 
-            // Check timeout
-            if (session.hasTimedOut(timeoutMinutes)) {
-                exitShopMode(player, false);
-                player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<yellow>Shop mode timed out due to inactivity."));
-                continue;
-            }
+        Player player = Bukkit.getPlayer(playerId);
+        if (player == null || !player.isOnline()) {
+            // Player is offline, remove session
+            activeSessions.remove(playerId);
+            return;
+        }
 
-            // Check distance
-            if (session.isTooFarFromEntry(player.getLocation(), maxDistance)) {
-                exitShopMode(player, false);
-                player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<yellow>Shop mode exited - you moved too far away."));
-                continue;
-            }
+        // Check timeout
+        if (session.hasTimedOut(config.getShopModeTimeoutMinutes())) {
+            exitShopMode(player, false);
+            player.sendMessage(config.prefixed("<yellow>Shop mode timed out due to inactivity."));
+            return;
+        }
 
-            // Update action bar
-            Optional<ShopEntity> shopOpt = registry.getShopById(session.getShopId());
-            if (shopOpt.isPresent()) {
-                sendActionBar(player, shopOpt.get().getName());
-            }
+        // Update action bar
+        player.sendActionBar(session.getActionBar());
+        scheduleNextCheck(session);
+    }
+
+    /**
+     * Schedule a session's next check at its timeout or next action bar refresh, whichever is first.
+     */
+    private void scheduleNextCheck(ShopModeSession session) {
+        long timeoutSecond = Math.floorDiv(session.getTimeoutAt(config.getShopModeTimeoutMinutes()) + 999, 1000L);
+        long refreshSecond = currentSecond() + ACTION_BAR_REFRESH_SECONDS;
+        timingWheel.schedule(session, Math.min(timeoutSecond, refreshSecond));
+    }
+
+    /**
+     * Exit shop mode if a player has moved too far from their entry point.
+     * Called from movement events, so it avoids square roots and allocation.
+     * @param player The player
+     * @param location The player's new location
+     */
+    public void checkDistance(Player player, Location location) {
+        ShopModeSession session = activeSessions.get(player.getUniqueId());
+        if (session == null) {
+            return;
         }
+
+        if (session.isTooFarFromEntry(location, config.getShopModeMaxDistance())) {
+            exitShopMode(player, false);
+            player.sendMessage(config.prefixed("<yellow>Shop mode exited - you moved too far away."));
+        }
+    }
+
+    private static long currentSecond() {
+        return System.currentTimeMillis() / 1000L;
     }
 
     /**
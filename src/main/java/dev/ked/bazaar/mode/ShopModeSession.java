@@ -1,5 +1,6 @@
 package dev.ked.bazaar.mode;
 
+import net.kyori.adventure.text.Component;
 import org.bukkit.Location;
 import org.bukkit.inventory.ItemStack;
 
@@ -16,6 +17,7 @@ public class ShopModeSession {
     private final Location entryLocation;
     private final ItemStack[] previousHotbar; // Slots 7-8 saved
     private long lastActivity;
+    private Component actionBar; // Pre-rendered status action bar
 
     public ShopModeSession(UUID playerId, UUID shopId, Location entryLocation, ItemStack[] previousHotbar) {
         this.playerId = playerId;
@@ -54,14 +56,30 @@ public class ShopModeSession {
         this.lastActivity = System.currentTimeMillis();
     }
 
+    public Component getActionBar() {
+        return actionBar;
+    }
+
+    public void setActionBar(Component actionBar) {
+        this.actionBar = actionBar;
+    }
+
+    /**
+     * Get the time at which this session times out if there is no further activity.
+     * @param timeoutMinutes Timeout in minutes
+     * @return Timeout timestamp in epoch milliseconds
+     */
+    public long getTimeoutAt(int timeoutMinutes) {
+        return lastActivity + timeoutMinutes * 60 * 1000L;
+    }
+
     /**
      * Check if session has timed out.
      * @param timeoutMinutes Timeout in minutes
      * @return true if session has timed out
      */
     public boolean hasTimedOut(int timeoutMinutes) {
-        long timeoutMillis = timeoutMinutes * 60 * 1000L;
-        return (System.currentTimeMillis() - lastActivity) > timeoutMillis;
+        return System.currentTimeMillis() >= getTimeoutAt(timeoutMinutes);
     }
 
     /**
@@ -73,7 +91,7 @@ public class ShopModeSession {
         if (!currentLocation.getWorld().equals(entryLocation.getWorld())) {
             return true;
         }
-        return currentLocation.distance(entryLocation) > maxDistance;
+        return currentLocation.distanceSquared(entryLocation) > maxDistance * maxDistance;
     }
 
     /**
@@ -0,0 +1,185 @@
+package dev.ked.bazaar.shop;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Set of block positions per world, stored as packed longs in open-addressing tables.
+ * Lookups never allocate, so it can sit in front of high-frequency events.
+ * Written and read on the main thread only.
+ */
+public class BlockPositionSet {
+    private final Map<UUID, LongTable> tablesByWorld = new ConcurrentHashMap<>();
+    private int size;
+
+    /**
+     * Add a block position.
+     */
+    public void add(Location location) {
+        LongTable table = tablesByWorld.computeIfAbsent(location.getWorld().getUID(), k -> new LongTable());
+        if (table.add(pack(location.getBlockX(), location.getBlockY(), location.getBlockZ()))) {
+            size++;
+        }
+    }
+
+    /**
+     * Remove a block position.
+     */
+    public void remove(Location location) {
+        UUID worldId = location.getWorld().getUID();
+        LongTable table = tablesByWorld.get(worldId);
+        if (table != null && table.remove(pack(location.getBlockX(), location.getBlockY(), location.getBlockZ()))) {
+            size--;
+            if (table.isEmpty()) {
+                tablesByWorld.remove(worldId);
+            }
+        }
+    }
+
+    /**
+     * Check if a block position is in the set.
+     */
+    public boolean contains(World world, int x, int y, int z) {
+        LongTable table = tablesByWorld.get(world.getUID());
+        return table != null && table.contains(pack(x, y, z));
+    }
+
+    /**
+     * Check if a location's block position is in the set.
+     */
+    public boolean contains(Location location) {
+        World world = location.getWorld();
+        return world != null && contains(world, location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove all positions.
+     */
+    public void clear() {
+        tablesByWorld.clear();
+        size = 0;
+    }
+
+    /**
+     * Pack a block position into a long (26 bits x, 26 bits z, 12 bits y).
+     */
+    private static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    /**
+     * Linear-probing hash set of longs. 0 marks an empty slot, so the 0 key is tracked separately.
+     */
+    private static final class LongTable {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private long[] keys = new long[INITIAL_CAPACITY];
+        private int count;
+        private boolean hasZero;
+
+        boolean contains(long key) {
+            if (key == 0) {
+                return hasZero;
+            }
+            long[] keys = this.keys;
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+                long current = keys[i];
+                if (current == key) {
+                    return true;
+                }
+                if (current == 0) {
+                    return false;
+                }
+            }
+        }
+
+        boolean add(long key) {
+            if (key == 0) {
+                if (hasZero) {
+                    return false;
+                }
+                hasZero = true;
+                return true;
+            }
+            if (!insert(keys, key)) {
+                return false;
+            }
+            // Keep load factor under 1/2 so probe runs stay short
+            if (++count * 2 > keys.length) {
+                long[] grown = new long[keys.length * 2];
+                for (long existing : keys) {
+                    if (existing != 0) {
+                        insert(grown, existing);
+                    }
+                }
+                keys = grown;
+            }
+            return true;
+        }
+
+        boolean remove(long key) {
+            if (key == 0) {
+                boolean had = hasZero;
+                hasZero = false;
+                return had;
+            }
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != key) {
+                if (keys[i] == 0) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+
+            // Shift later entries of the probe run back so lookups never stop early
+            int gap = i;
+            for (int j = (gap + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+                int home = slot(keys[j], mask);
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    gap = j;
+                }
+            }
+            keys[gap] = 0;
+            count--;
+            return true;
+        }
+
+        boolean isEmpty() {
+            return count == 0 && !hasZero;
+        }
+
+        private static boolean insert(long[] keys, long key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+                long current = keys[i];
+                if (current == key) {
+                    return false;
+                }
+                if (current == 0) {
+                    keys[i] = key;
+                    return true;
+                }
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package dev.ked.bazaar.shop;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Trigram index over listing item names for typo-tolerant search.
+ * Each listing is indexed under its material name, its custom display name and its mythic ID.
+ * Queries score distinct names rather than listings, so cost grows with the number of
+ * different items for sale, not with the number of listings.
+ * Written on the main thread; safe to search from any thread.
+ */
+public class ItemNameIndex {
+    // Minimum similarity (shared trigrams, Dice coefficient) for a name to match
+    private static final double MIN_SCORE = 0.3;
+
+    // Trigram -> names containing it
+    private final Map<String, Set<String>> namesByTrigram = new ConcurrentHashMap<>();
+
+    // Normalized name -> its trigram count and the listings indexed under it
+    private final Map<String, NameEntry> entriesByName = new ConcurrentHashMap<>();
+
+    // Listing ID -> names it is indexed under (for removal)
+    private final Map<UUID, List<String>> namesByListing = new ConcurrentHashMap<>();
+
+    /**
+     * A listing matching a query, with its similarity from 0 to 1.
+     */
+    public record Match(Listing listing, double score) {
+    }
+
+    private record NameEntry(int trigramCount, Set<Listing> listings) {
+    }
+
+    /**
+     * Index a listing under its item names.
+     */
+    public void add(Listing listing) {
+        List<String> names = getNames(listing);
+        if (names.isEmpty()) {
+            return;
+        }
+        namesByListing.put(listing.getId(), names);
+
+        for (String name : names) {
+            NameEntry entry = entriesByName.get(name);
+            if (entry == null) {
+                Set<String> trigrams = trigrams(name);
+                entry = new NameEntry(trigrams.size(), ConcurrentHashMap.newKeySet());
+                entriesByName.put(name, entry);
+                for (String trigram : trigrams) {
+                    namesByTrigram.computeIfAbsent(trigram, k -> ConcurrentHashMap.newKeySet()).add(name);
+                }
+            }
+            entry.listings().add(listing);
+        }
+    }
+
+    /**
+     * Remove a listing from the index.
+     */
+    public void remove(Listing listing) {
+        List<String> names = namesByListing.remove(listing.getId());
+        if (names == null) {
+            return;
+        }
+
+        for (String name : names) {
+            NameEntry entry = entriesByName.get(name);
+            if (entry == null) {
+                continue;
+            }
+            entry.listings().remove(listing);
+            if (entry.listings().isEmpty()) {
+                entriesByName.remove(name);
+                for (String trigram : trigrams(name)) {
+                    Set<String> bucket = namesByTrigram.get(trigram);
+                    if (bucket != null) {
+                        bucket.remove(name);
+                        if (bucket.isEmpty()) {
+                            namesByTrigram.remove(trigram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Find listings whose item names resemble a query, best match first.
+     * A listing indexed under several names is scored by its closest one.
+     */
+    public List<Match> search(String query) {
+        Set<String> queryTrigrams = trigrams(normalize(query));
+        if (queryTrigrams.isEmpty()) {
+            return List.of();
+        }
+
+        // Count shared trigrams per candidate name
+        Map<String, int[]> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            Set<String> names = namesByTrigram.get(trigram);
+            if (names == null) {
+                continue;
+            }
+            for (String name : names) {
+                shared.computeIfAbsent(name, k -> new int[1])[0]++;
+            }
+        }
+
+        Map<Listing, Double> bestScores = new HashMap<>();
+        for (Map.Entry<String, int[]> candidate : shared.entrySet()) {
+            NameEntry entry = entriesByName.get(candidate.getKey());
+            if (entry == null) {
+                continue;
+            }
+            double score = 2.0 * candidate.getValue()[0] / (queryTrigrams.size() + entry.trigramCount());
+            if (score < MIN_SCORE) {
+                continue;
+            }
+            for (Listing listing : entry.listings()) {
+                bestScores.merge(listing, score, Math::max);
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(bestScores.size());
+        for (Map.Entry<Listing, Double> best : bestScores.entrySet()) {
+            matches.add(new Match(best.getKey(), best.getValue()));
+        }
+        matches.sort((a, b) -> Double.compare(b.score(), a.score()));
+        return matches;
+    }
+
+    /**
+     * Remove all listings.
+     */
+    public void clear() {
+        namesByTrigram.clear();
+        entriesByName.clear();
+        namesByListing.clear();
+    }
+
+    /**
+     * Get the normalized names a listing is searchable by.
+     */
+    private static List<String> getNames(Listing listing) {
+        Set<String> names = new LinkedHashSet<>();
+        ItemStack item = listing.getItemTemplate();
+        if (item != null) {
+            names.add(normalize(item.getType().name()));
+
+            ItemMeta meta = item.getItemMeta();
+            Component displayName = meta != null && meta.hasDisplayName() ? meta.displayName() : null;
+            if (displayName != null) {
+                names.add(normalize(PlainTextComponentSerializer.plainText().serialize(displayName)));
+            }
+        }
+        if (listing.getMythicItemId() != null) {
+            names.add(normalize(listing.getMythicItemId()));
+        }
+        names.remove("");
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * Lowercase a name, drop legacy color codes and turn punctuation and underscores into single spaces.
+     */
+    static String normalize(String name) {
+        String stripped = name.toLowerCase(Locale.ROOT).replaceAll("§.", "");
+        return stripped.replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    /**
+     * Get the distinct trigrams of a normalized name. Each word is padded with two leading
+     * spaces and one trailing space, so short words and word starts still produce trigrams.
+     */
+    private static Set<String> trigrams(String name) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        if (name.isEmpty()) {
+            return trigrams;
+        }
+        for (String word : name.split(" ")) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+}
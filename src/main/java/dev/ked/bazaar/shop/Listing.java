@@ -1,11 +1,13 @@
 package dev.ked.bazaar.shop;
 
 import org.bukkit.Location;
+import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.BiConsumer;
 
 /**
  * Represents an individual listing (chest) within a shop.
@@ -15,15 +17,22 @@ public class Listing {
     private final UUID id;
     private final UUID shopId; // Parent shop entity
     private final Location location;
+    private Location signLocation; // Null until a sign has been placed
     private final UUID owner;
     private final ListingType type;
     private ItemStack item; // Not final - can be set later for empty SELL listings
     private String mythicItemId; // For MythicMobs items (null if not mythic)
+    private Material mythicBaseMaterial; // Material the mythic item is made from, for indexing and grouping
     private double price;
     private double earnings;
     private int buyLimit; // For BUY listings: how many items owner wants to buy (0 = unlimited)
     private final long createdAt;
     private boolean silkRoadEnabled = false;
+    private boolean hopperFed = false; // Hoppers may restock this listing (SELL only)
+    private int stock; // Last counted stock, kept current by StockTracker
+    private long version;
+    private volatile ListingSnapshot snapshot; // Replaced on every change, read by search workers
+    private BiConsumer<ListingSnapshot, ListingSnapshot> changeListener; // Set by ShopRegistry while registered
     private Map<UUID, Integer> reservedStock = new HashMap<>(); // UUID = contractId
 
     public Listing(UUID id, UUID shopId, Location location, UUID owner, ListingType type, ItemStack item, double price) {
@@ -43,6 +52,7 @@ public class Listing {
         this.buyLimit = 0; // 0 = unlimited
         this.createdAt = System.currentTimeMillis();
         this.reservedStock = new HashMap<>();
+        updateSnapshot();
     }
 
     // Constructor with buy limit
@@ -63,6 +73,7 @@ public class Listing {
         this.buyLimit = buyLimit;
         this.createdAt = System.currentTimeMillis();
         this.reservedStock = new HashMap<>();
+        updateSnapshot();
     }
 
     // Full constructor for loading from storage
@@ -87,11 +98,12 @@ public class Listing {
         this.createdAt = createdAt;
         this.silkRoadEnabled = silkRoadEnabled;
         this.reservedStock = reservedStock != null ? reservedStock : new HashMap<>();
+        updateSnapshot();
     }
 
     // Constructor for mythic items
     public Listing(UUID id, UUID shopId, Location location, UUID owner, ListingType type, String mythicItemId,
-                   double price, int buyLimit) {
+                   Material mythicBaseMaterial, double price, int buyLimit) {
         this.id = id;
         this.shopId = shopId;
         this.location = location;
@@ -99,11 +111,13 @@ public class Listing {
         this.type = type;
         this.item = null; // Mythic items are handled via mythicItemId
         this.mythicItemId = mythicItemId;
+        this.mythicBaseMaterial = mythicBaseMaterial;
         this.price = price;
         this.earnings = 0.0;
         this.buyLimit = buyLimit;
         this.createdAt = System.currentTimeMillis();
         this.reservedStock = new HashMap<>();
+        updateSnapshot();
     }
 
     public UUID getId() {
@@ -118,6 +132,17 @@ public class Listing {
         return location;
     }
 
+    public Location getSignLocation() {
+        return signLocation;
+    }
+
+    /**
+     * Set the sign location. Use ShopRegistry.setListingSign so the sign index stays in sync.
+     */
+    void setSignLocation(Location signLocation) {
+        this.signLocation = signLocation;
+    }
+
     public UUID getOwner() {
         return owner;
     }
@@ -130,6 +155,13 @@ public class Listing {
         return item != null ? item.clone() : null;
     }
 
+    /**
+     * Get the item without copying it, for comparisons. Must not be modified.
+     */
+    ItemStack getItemTemplate() {
+        return item;
+    }
+
     public void setItem(ItemStack item) {
         if (item != null) {
             this.item = item.clone();
@@ -137,6 +169,7 @@ public class Listing {
         } else {
             this.item = null;
         }
+        updateSnapshot();
     }
 
     public double getPrice() {
@@ -145,6 +178,7 @@ public class Listing {
 
     public void setPrice(double price) {
         this.price = price;
+        updateSnapshot();
     }
 
     public double getEarnings() {
@@ -165,6 +199,7 @@ public class Listing {
 
     public void setBuyLimit(int buyLimit) {
         this.buyLimit = buyLimit;
+        updateSnapshot();
     }
 
     /**
@@ -186,13 +221,27 @@ public class Listing {
     }
 
     /**
-     * Get the current stock count from the chest at this location.
-     * This method should be called by ShopManager which has access to the chest.
+     * Get the last known stock count for the chest at this location.
+     * Counted by StockTracker while the chunk is loaded or the chest is closed, and adjusted incrementally as hoppers move items.
+     * Never touches the world, so it is safe to call for listings in unloaded chunks.
      */
     public int getStock() {
-        // Stock is dynamically calculated from chest contents
-        // This is handled by ShopManager
-        return 0;
+        return stock;
+    }
+
+    public void setStock(int stock) {
+        int previous = this.stock;
+        this.stock = Math.max(0, stock);
+        if (this.stock != previous) {
+            updateSnapshot();
+        }
+    }
+
+    /**
+     * Adjust the cached stock by a number of items added (positive) or removed (negative).
+     */
+    public void adjustStock(int delta) {
+        setStock(stock + delta);
     }
 
     public boolean isSilkRoadEnabled() {
@@ -201,6 +250,15 @@ public class Listing {
 
     public void setSilkRoadEnabled(boolean silkRoadEnabled) {
         this.silkRoadEnabled = silkRoadEnabled;
+        updateSnapshot();
+    }
+
+    public boolean isHopperFed() {
+        return hopperFed;
+    }
+
+    public void setHopperFed(boolean hopperFed) {
+        this.hopperFed = hopperFed;
     }
 
     /**
@@ -210,6 +268,7 @@ public class Listing {
      */
     public void reserveStock(UUID contractId, int quantity) {
         reservedStock.put(contractId, quantity);
+        updateSnapshot();
     }
 
     /**
@@ -218,6 +277,7 @@ public class Listing {
      */
     public void releaseReservation(UUID contractId) {
         reservedStock.remove(contractId);
+        updateSnapshot();
     }
 
     /**
@@ -234,6 +294,7 @@ public class Listing {
      */
     public void setReservedStock(Map<UUID, Integer> reservedStock) {
         this.reservedStock = reservedStock != null ? reservedStock : new HashMap<>();
+        updateSnapshot();
     }
 
     /**
@@ -266,6 +327,33 @@ public class Listing {
      */
     public void setMythicItemId(String mythicItemId) {
         this.mythicItemId = mythicItemId;
+        updateSnapshot();
+    }
+
+    /**
+     * Get an immutable copy of this listing's searchable state. Safe to call from any thread.
+     */
+    public ListingSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Set a callback receiving the previous and current snapshot after each change.
+     */
+    void setChangeListener(BiConsumer<ListingSnapshot, ListingSnapshot> changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    private void updateSnapshot() {
+        ListingSnapshot previous = snapshot;
+        snapshot = new ListingSnapshot(id, shopId, owner, type,
+                item != null ? item.getType() : mythicBaseMaterial, mythicItemId,
+                price, buyLimit, stock, getTotalReservedStock(), silkRoadEnabled,
+                location.getWorld().getUID(), location.getBlockX(), location.getBlockY(), location.getBlockZ(),
+                createdAt, ++version);
+        if (changeListener != null && previous != null) {
+            changeListener.accept(previous, snapshot);
+        }
     }
 
     @Override
@@ -281,6 +369,7 @@ public class Listing {
                 ", price=" + price +
                 ", earnings=" + earnings +
                 ", silkRoadEnabled=" + silkRoadEnabled +
+                ", hopperFed=" + hopperFed +
                 '}';
     }
 }
@@ -0,0 +1,116 @@
+package dev.ked.bazaar.shop;
+
+import org.bukkit.Material;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Running listing counts per filter choice (listing type, silk road, item category and territory),
+ * so filter controls can show how many results each choice yields without searching.
+ * Listings without an item are not counted, matching the directory. Main thread only.
+ */
+public class ListingFacets {
+    // [listing type ordinal][silk road ? 1 : 0]
+    private final int[][] typeCounts = new int[ListingType.values().length][2];
+    private final Map<String, Integer> categoryCounts = new HashMap<>();
+    private final Map<String, Integer> territoryCounts = new HashMap<>();
+    private Function<Material, List<String>> categoryLookup = material -> List.of();
+
+    /**
+     * Set how materials map to item categories. A material may belong to several.
+     * Call before listings are registered.
+     */
+    public void setCategoryLookup(Function<Material, List<String>> categoryLookup) {
+        this.categoryLookup = categoryLookup;
+    }
+
+    /**
+     * Count a listing.
+     *
+     * @param territoryId The territory of the listing's shop, or null
+     */
+    public void add(ListingSnapshot listing, String territoryId) {
+        apply(listing, territoryId, 1);
+    }
+
+    /**
+     * Stop counting a listing.
+     */
+    public void remove(ListingSnapshot listing, String territoryId) {
+        apply(listing, territoryId, -1);
+    }
+
+    /**
+     * Replace a listing's previous state with its current one.
+     */
+    public void update(ListingSnapshot previous, ListingSnapshot current, String territoryId) {
+        remove(previous, territoryId);
+        add(current, territoryId);
+    }
+
+    /**
+     * Get the number of listings of a type.
+     *
+     * @param silkRoad Only count silk road (true) or other (false) listings, or null for both
+     */
+    public int getTypeCount(ListingType type, Boolean silkRoad) {
+        int[] counts = typeCounts[type.ordinal()];
+        if (silkRoad == null) {
+            return counts[0] + counts[1];
+        }
+        return counts[silkRoad ? 1 : 0];
+    }
+
+    /**
+     * Get the number of listings of any type.
+     *
+     * @param silkRoad Only count silk road (true) or other (false) listings, or null for both
+     */
+    public int getTotal(Boolean silkRoad) {
+        int total = 0;
+        for (ListingType type : ListingType.values()) {
+            total += getTypeCount(type, silkRoad);
+        }
+        return total;
+    }
+
+    public int getCategoryCount(String category) {
+        return categoryCounts.getOrDefault(category, 0);
+    }
+
+    public int getTerritoryCount(String territoryId) {
+        return territoryCounts.getOrDefault(territoryId, 0);
+    }
+
+    /**
+     * Reset all counts.
+     */
+    public void clear() {
+        for (int[] counts : typeCounts) {
+            counts[0] = 0;
+            counts[1] = 0;
+        }
+        categoryCounts.clear();
+        territoryCounts.clear();
+    }
+
+    private void apply(ListingSnapshot listing, String territoryId, int delta) {
+        if (listing.material() == null) {
+            return;
+        }
+        typeCounts[listing.type().ordinal()][listing.silkRoadEnabled() ? 1 : 0] += delta;
+        for (String category : categoryLookup.apply(listing.material())) {
+            adjust(categoryCounts, category, delta);
+        }
+        if (territoryId != null) {
+            adjust(territoryCounts, territoryId, delta);
+        }
+    }
+
+    private static void adjust(Map<String, Integer> counts, String key, int delta) {
+        counts.merge(key, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+}
@@ -0,0 +1,50 @@
+package dev.ked.bazaar.shop;
+
+import org.bukkit.Material;
+
+import java.util.UUID;
+
+/**
+ * Immutable copy of a listing's searchable state.
+ * Replaced by the listing on every change, so it can be read from any thread.
+ *
+ * @param material The listed item's material (a mythic item's base material), or null if the listing has no item
+ * @param version Incremented each time the listing changes
+ */
+public record ListingSnapshot(
+        UUID id,
+        UUID shopId,
+        UUID owner,
+        ListingType type,
+        Material material,
+        String mythicItemId,
+        double price,
+        int buyLimit,
+        int stock,
+        int reservedStock,
+        boolean silkRoadEnabled,
+        UUID worldId,
+        int x,
+        int y,
+        int z,
+        long createdAt,
+        long version
+) {
+
+    /**
+     * Get the squared distance to a point, or infinity if it is in another world.
+     */
+    public double distanceSquared(UUID worldId, double x, double y, double z) {
+        if (!this.worldId.equals(worldId)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double dx = this.x - x;
+        double dy = this.y - y;
+        double dz = this.z - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    public boolean isMythicItem() {
+        return mythicItemId != null;
+    }
+}
@@ -0,0 +1,171 @@
+package dev.ked.bazaar.shop;
+
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-item market totals across all listings: listing count, sell price range and average,
+ * best buy price and total stock. Updated incrementally as listings are registered,
+ * changed and removed, so an overview never has to walk every listing.
+ * Main thread only.
+ */
+public class MarketAggregates {
+    private final Map<ItemKey, ItemMarket> marketsByItem = new HashMap<>();
+
+    /**
+     * Identifies an item for grouping: a vanilla material, or a mythic item by ID.
+     */
+    public record ItemKey(Material material, String mythicItemId) {
+
+        static ItemKey of(ListingSnapshot listing) {
+            return new ItemKey(listing.material(), listing.mythicItemId());
+        }
+
+        public boolean isMythicItem() {
+            return mythicItemId != null;
+        }
+    }
+
+    /**
+     * Running totals for one item.
+     */
+    public static final class ItemMarket {
+        private final ItemKey key;
+        private int listingCount;
+        private int sellListingCount;
+        private double sellPriceSum;
+        private long totalStock;
+        // Price -> number of listings at that price, so the extremes survive removals
+        private final TreeMap<Double, Integer> sellPrices = new TreeMap<>();
+        private final TreeMap<Double, Integer> buyPrices = new TreeMap<>();
+
+        private ItemMarket(ItemKey key) {
+            this.key = key;
+        }
+
+        public ItemKey getKey() {
+            return key;
+        }
+
+        public int getListingCount() {
+            return listingCount;
+        }
+
+        public int getSellListingCount() {
+            return sellListingCount;
+        }
+
+        public int getBuyListingCount() {
+            return listingCount - sellListingCount;
+        }
+
+        /**
+         * Get the lowest sell price. Only meaningful if there are sell listings.
+         */
+        public double getMinSellPrice() {
+            return sellPrices.isEmpty() ? 0 : sellPrices.firstKey();
+        }
+
+        /**
+         * Get the average sell price. Only meaningful if there are sell listings.
+         */
+        public double getAverageSellPrice() {
+            return sellListingCount == 0 ? 0 : sellPriceSum / sellListingCount;
+        }
+
+        /**
+         * Get the highest buy price. Only meaningful if there are buy listings.
+         */
+        public double getMaxBuyPrice() {
+            return buyPrices.isEmpty() ? 0 : buyPrices.lastKey();
+        }
+
+        /**
+         * Get the total stock of all sell listings.
+         */
+        public long getTotalStock() {
+            return totalStock;
+        }
+
+        private void apply(ListingSnapshot listing, int sign) {
+            listingCount += sign;
+            if (listing.type() == ListingType.SELL) {
+                sellListingCount += sign;
+                sellPriceSum += sign * listing.price();
+                totalStock += (long) sign * listing.stock();
+                adjustCount(sellPrices, listing.price(), sign);
+            } else {
+                adjustCount(buyPrices, listing.price(), sign);
+            }
+        }
+
+        private static void adjustCount(TreeMap<Double, Integer> counts, double price, int delta) {
+            counts.merge(price, delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+
+    /**
+     * Add a listing to its item's totals. Listings without an item are not counted.
+     */
+    public void add(ListingSnapshot listing) {
+        if (listing.material() == null) {
+            return;
+        }
+        marketsByItem.computeIfAbsent(ItemKey.of(listing), ItemMarket::new).apply(listing, 1);
+    }
+
+    /**
+     * Remove a listing from its item's totals.
+     */
+    public void remove(ListingSnapshot listing) {
+        if (listing.material() == null) {
+            return;
+        }
+        ItemKey key = ItemKey.of(listing);
+        ItemMarket market = marketsByItem.get(key);
+        if (market != null) {
+            market.apply(listing, -1);
+            if (market.listingCount <= 0) {
+                marketsByItem.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Replace a listing's previous state with its current one.
+     */
+    public void update(ListingSnapshot previous, ListingSnapshot current) {
+        remove(previous);
+        add(current);
+    }
+
+    /**
+     * Get the market for one item, or null if nothing trades it.
+     */
+    public ItemMarket get(ItemKey key) {
+        return marketsByItem.get(key);
+    }
+
+    /**
+     * Get every traded item, most listed first.
+     */
+    public List<ItemMarket> getAll() {
+        List<ItemMarket> markets = new ArrayList<>(marketsByItem.values());
+        markets.sort(Comparator.comparingInt(ItemMarket::getListingCount).reversed()
+                .thenComparing(market -> market.getKey().material().name()));
+        return markets;
+    }
+
+    /**
+     * Remove all totals.
+     */
+    public void clear() {
+        marketsByItem.clear();
+    }
+}
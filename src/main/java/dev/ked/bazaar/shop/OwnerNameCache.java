@@ -0,0 +1,155 @@
+package dev.ked.bazaar.shop;
+
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+
+/**
+ * Cache of shop owner names, so rendering never waits on offline player lookups.
+ * Filled from join events and a saved copy from the last run; misses are resolved
+ * in the background and show a placeholder until they arrive.
+ */
+public class OwnerNameCache implements Listener {
+    public static final String PLACEHOLDER = "Loading...";
+    private static final String UNKNOWN = "Unknown";
+
+    private final Plugin plugin;
+    private final File file;
+    private final Executor asyncExecutor;
+    private final Map<UUID, String> namesById = new ConcurrentHashMap<>();
+    private final Map<UUID, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    public OwnerNameCache(Plugin plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "owner-names.yml");
+        this.asyncExecutor = task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+    }
+
+    /**
+     * Load names saved by the last run and add everyone online.
+     */
+    public void load() {
+        if (file.exists()) {
+            YamlConfiguration saved = YamlConfiguration.loadConfiguration(file);
+            for (String key : saved.getKeys(false)) {
+                String name = saved.getString(key);
+                if (name == null) {
+                    plugin.getLogger().warning("Skipping invalid owner name entry: " + key);
+                    continue;
+                }
+                try {
+                    namesById.put(UUID.fromString(key), name);
+                } catch (IllegalArgumentException e) {
+                    plugin.getLogger().warning("Skipping invalid owner name entry: " + key);
+                }
+            }
+        }
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            remember(player);
+        }
+    }
+
+    /**
+     * Save known names for the next run, if any changed.
+     */
+    public void save() {
+        if (!dirty) {
+            return;
+        }
+
+        YamlConfiguration saved = new YamlConfiguration();
+        namesById.forEach((id, name) -> saved.set(id.toString(), name));
+        try {
+            saved.save(file);
+            dirty = false;
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to save owner names", e);
+        }
+    }
+
+    /**
+     * Get an owner's name without blocking. Unknown owners are looked up in the
+     * background and show the placeholder until then.
+     */
+    public String getName(UUID owner) {
+        String name = namesById.get(owner);
+        if (name != null) {
+            return name;
+        }
+        resolve(owner);
+        return PLACEHOLDER;
+    }
+
+    /**
+     * Look up any of the owners not yet cached in the background.
+     *
+     * @param onResolved Run on the main thread once all missing names are known
+     * @return true if some names were missing
+     */
+    public boolean prefetch(Collection<UUID> owners, Runnable onResolved) {
+        List<CompletableFuture<String>> lookups = new ArrayList<>();
+        for (UUID owner : owners) {
+            if (!namesById.containsKey(owner)) {
+                lookups.add(resolve(owner));
+            }
+        }
+        if (lookups.isEmpty()) {
+            return false;
+        }
+
+        CompletableFuture.allOf(lookups.toArray(new CompletableFuture[0])).thenRun(() -> {
+            if (plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, onResolved);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Start a background lookup for an owner, or join the one already running.
+     */
+    private CompletableFuture<String> resolve(UUID owner) {
+        return pending.computeIfAbsent(owner, id -> CompletableFuture.supplyAsync(() -> {
+            try {
+                String name = Bukkit.getOfflinePlayer(id).getName();
+                // Owners the server has never seen stay unknown instead of being looked up again
+                namesById.put(id, name != null ? name : UNKNOWN);
+                dirty = true;
+                return name;
+            } finally {
+                pending.remove(id);
+            }
+        }, asyncExecutor));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        remember(event.getPlayer());
+    }
+
+    private void remember(Player player) {
+        String previous = namesById.put(player.getUniqueId(), player.getName());
+        if (!player.getName().equals(previous)) {
+            dirty = true;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package dev.ked.bazaar.shop;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-chunk sets of protected block positions (listing chests and their signs).
+ * Each chunk holds a small sorted array of packed positions that is replaced on write,
+ * so lookups never lock or allocate.
+ */
+public class ProtectedBlockIndex {
+    private static final int[] EMPTY = new int[0];
+
+    // World UUID -> (chunk key -> sorted packed positions within the chunk)
+    private final Map<UUID, Map<Long, int[]>> chunksByWorld = new ConcurrentHashMap<>();
+
+    /**
+     * Mark a block position as protected.
+     */
+    public void add(Location location) {
+        int packed = pack(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        chunksByWorld.computeIfAbsent(location.getWorld().getUID(), k -> new ConcurrentHashMap<>())
+                .compute(chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4), (key, positions) -> {
+                    if (positions == null) {
+                        return new int[]{packed};
+                    }
+                    int index = Arrays.binarySearch(positions, packed);
+                    if (index >= 0) {
+                        return positions;
+                    }
+                    int insertAt = -index - 1;
+                    int[] updated = new int[positions.length + 1];
+                    System.arraycopy(positions, 0, updated, 0, insertAt);
+                    updated[insertAt] = packed;
+                    System.arraycopy(positions, insertAt, updated, insertAt + 1, positions.length - insertAt);
+                    return updated;
+                });
+    }
+
+    /**
+     * Remove protection from a block position.
+     */
+    public void remove(Location location) {
+        Map<Long, int[]> chunks = chunksByWorld.get(location.getWorld().getUID());
+        if (chunks == null) {
+            return;
+        }
+
+        int packed = pack(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        chunks.computeIfPresent(chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4), (key, positions) -> {
+            int index = Arrays.binarySearch(positions, packed);
+            if (index < 0) {
+                return positions;
+            }
+            if (positions.length == 1) {
+                return null;
+            }
+            int[] updated = new int[positions.length - 1];
+            System.arraycopy(positions, 0, updated, 0, index);
+            System.arraycopy(positions, index + 1, updated, index, positions.length - index - 1);
+            return updated;
+        });
+    }
+
+    /**
+     * Check if a block is protected.
+     */
+    public boolean contains(Block block) {
+        int[] positions = getChunk(block.getWorld(), block.getX() >> 4, block.getZ() >> 4);
+        return Arrays.binarySearch(positions, pack(block.getX(), block.getY(), block.getZ())) >= 0;
+    }
+
+    /**
+     * Check if a chunk holds any protected block.
+     */
+    public boolean containsChunk(World world, int chunkX, int chunkZ) {
+        return getChunk(world, chunkX, chunkZ).length > 0;
+    }
+
+    /**
+     * Check if any of the blocks is protected.
+     */
+    public boolean containsAny(List<Block> blocks) {
+        if (chunksByWorld.isEmpty()) {
+            return false;
+        }
+
+        World lastWorld = null;
+        int lastChunkX = 0, lastChunkZ = 0;
+        int[] positions = EMPTY;
+
+        for (int i = 0, size = blocks.size(); i < size; i++) {
+            Block block = blocks.get(i);
+            int chunkX = block.getX() >> 4;
+            int chunkZ = block.getZ() >> 4;
+            if (block.getWorld() != lastWorld || chunkX != lastChunkX || chunkZ != lastChunkZ) {
+                lastWorld = block.getWorld();
+                lastChunkX = chunkX;
+                lastChunkZ = chunkZ;
+                positions = getChunk(lastWorld, chunkX, chunkZ);
+            }
+            if (positions.length > 0 && Arrays.binarySearch(positions, pack(block.getX(), block.getY(), block.getZ())) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove protected blocks from a mutable list in a single pass, keeping the order of the rest.
+     * Chunk lookups are only repeated when consecutive blocks cross a chunk boundary.
+     *
+     * @return true if any block was removed
+     */
+    public boolean removeProtected(List<Block> blocks) {
+        if (chunksByWorld.isEmpty()) {
+            return false;
+        }
+
+        World lastWorld = null;
+        int lastChunkX = 0, lastChunkZ = 0;
+        int[] positions = EMPTY;
+        int kept = 0;
+        int size = blocks.size();
+
+        for (int i = 0; i < size; i++) {
+            Block block = blocks.get(i);
+            int chunkX = block.getX() >> 4;
+            int chunkZ = block.getZ() >> 4;
+            if (block.getWorld() != lastWorld || chunkX != lastChunkX || chunkZ != lastChunkZ) {
+                lastWorld = block.getWorld();
+                lastChunkX = chunkX;
+                lastChunkZ = chunkZ;
+                positions = getChunk(lastWorld, chunkX, chunkZ);
+            }
+            if (positions.length > 0 && Arrays.binarySearch(positions, pack(block.getX(), block.getY(), block.getZ())) >= 0) {
+                continue;
+            }
+            if (kept != i) {
+                blocks.set(kept, block);
+            }
+            kept++;
+        }
+
+        if (kept == size) {
+            return false;
+        }
+        blocks.subList(kept, size).clear();
+        return true;
+    }
+
+    /**
+     * Remove all protected positions.
+     */
+    public void clear() {
+        chunksByWorld.clear();
+    }
+
+    private int[] getChunk(World world, int chunkX, int chunkZ) {
+        Map<Long, int[]> chunks = chunksByWorld.get(world.getUID());
+        if (chunks == null) {
+            return EMPTY;
+        }
+        int[] positions = chunks.get(chunkKey(chunkX, chunkZ));
+        return positions != null ? positions : EMPTY;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Pack a block position into an int unique within its chunk.
+     */
+    private static int pack(int x, int y, int z) {
+        return (y << 8) | ((z & 15) << 4) | (x & 15);
+    }
+}
@@ -2,9 +2,12 @@ package dev.ked.bazaar.shop;
 
 import org.bukkit.Chunk;
 import org.bukkit.Location;
+import org.bukkit.Material;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Registry for tracking active shops and listings with efficient lookup.
@@ -29,14 +32,45 @@ public class ShopRegistry {
     private final Map<UUID, List<UUID>> listingIdsByShop = new ConcurrentHashMap<>();
 
     // Map of chunk key -> list of listings in that chunk
+    // Index lists are copy-on-write so search workers can iterate them while the main thread writes
     private final Map<String, List<Listing>> listingsByChunk = new ConcurrentHashMap<>();
 
     // Map of exact location -> listing for O(1) lookups
     private final Map<String, Listing> listingsByLocation = new ConcurrentHashMap<>();
 
+    // Map of sign location -> listing, for resolving clicked or broken signs
+    private final Map<String, Listing> listingsBySign = new ConcurrentHashMap<>();
+
     // Map of owner UUID -> list of their listings (for backward compatibility)
     private final Map<UUID, List<Listing>> listingsByOwner = new ConcurrentHashMap<>();
 
+    // Map of item material -> listings trading it (indexed when the listing is registered)
+    private final Map<Material, List<Listing>> listingsByMaterial = new ConcurrentHashMap<>();
+
+    // Map of territory ID -> listings in shops of that territory
+    private final Map<String, List<Listing>> listingsByTerritory = new ConcurrentHashMap<>();
+
+    // Map of listing ID -> territory it was indexed under, since its shop may be gone when it is removed
+    private final Map<UUID, String> territoryByListing = new ConcurrentHashMap<>();
+
+    // Packed positions of listing chests and their signs, per chunk
+    private final ProtectedBlockIndex protectedBlocks = new ProtectedBlockIndex();
+
+    // Packed positions of listing chests only, for the hopper fast path
+    private final BlockPositionSet chestPositions = new BlockPositionSet();
+
+    // Trigram index over item names, for fuzzy search
+    private final ItemNameIndex itemNames = new ItemNameIndex();
+
+    // Per-item totals for the market overview, kept current through each listing's change listener
+    private final MarketAggregates markets = new MarketAggregates();
+
+    // Listing counts per directory filter choice, kept current the same way
+    private final ListingFacets facets = new ListingFacets();
+
+    // Incremented whenever a listing is registered, changed or removed; cached search results check it
+    private final AtomicLong version = new AtomicLong();
+
     // ===== SHOP ENTITY METHODS =====
 
     /**
@@ -148,15 +182,43 @@ public class ShopRegistry {
 
         listingsById.put(listing.getId(), listing);
         listingsByLocation.put(locationKey, listing);
-        listingsByChunk.computeIfAbsent(chunkKey, k -> new ArrayList<>()).add(listing);
-        listingsByOwner.computeIfAbsent(listing.getOwner(), k -> new ArrayList<>()).add(listing);
+        protectedBlocks.add(listing.getLocation());
+        chestPositions.add(listing.getLocation());
+        if (listing.getSignLocation() != null) {
+            listingsBySign.put(getLocationKey(listing.getSignLocation()), listing);
+            protectedBlocks.add(listing.getSignLocation());
+        }
+        listingsByChunk.computeIfAbsent(chunkKey, k -> new CopyOnWriteArrayList<>()).add(listing);
+        listingsByOwner.computeIfAbsent(listing.getOwner(), k -> new CopyOnWriteArrayList<>()).add(listing);
         listingIdsByShop.computeIfAbsent(listing.getShopId(), k -> new ArrayList<>()).add(listing.getId());
 
-        // Update shop entity's listing list
+        Material material = listing.snapshot().material();
+        if (material != null) {
+            listingsByMaterial.computeIfAbsent(material, k -> new CopyOnWriteArrayList<>()).add(listing);
+        }
         ShopEntity shop = shopsById.get(listing.getShopId());
+        String territoryId = shop != null ? shop.getTerritoryId() : null;
+
+        itemNames.add(listing);
+        markets.add(listing.snapshot());
+        facets.add(listing.snapshot(), territoryId);
+        listing.setChangeListener((previous, current) -> {
+            markets.update(previous, current);
+            facets.update(previous, current, territoryId);
+            if (affectsMatches(previous, current)) {
+                version.incrementAndGet();
+            }
+        });
+
+        // Update shop entity's listing list
         if (shop != null) {
             shop.addListing(listing.getId());
         }
+        if (territoryId != null) {
+            territoryByListing.put(listing.getId(), territoryId);
+            listingsByTerritory.computeIfAbsent(territoryId, k -> new CopyOnWriteArrayList<>()).add(listing);
+        }
+        version.incrementAndGet();
     }
 
     /**
@@ -172,6 +234,12 @@ public class ShopRegistry {
         String chunkKey = getChunkKey(listing.getLocation());
 
         listingsByLocation.remove(locationKey);
+        protectedBlocks.remove(listing.getLocation());
+        chestPositions.remove(listing.getLocation());
+        if (listing.getSignLocation() != null) {
+            listingsBySign.remove(getLocationKey(listing.getSignLocation()));
+            protectedBlocks.remove(listing.getSignLocation());
+        }
 
         List<Listing> chunkListings = listingsByChunk.get(chunkKey);
         if (chunkListings != null) {
@@ -197,11 +265,37 @@ public class ShopRegistry {
             }
         }
 
+        // The listing's item may have changed since it was indexed, so check every material bucket
+        for (Material material : listingsByMaterial.keySet()) {
+            removeFromIndex(listingsByMaterial, material, listing);
+        }
+        // Use the territory captured at registration; the shop may already be unregistered
+        String territoryId = territoryByListing.remove(listingId);
+        itemNames.remove(listing);
+        listing.setChangeListener(null);
+        markets.remove(listing.snapshot());
+        facets.remove(listing.snapshot(), territoryId);
+
         // Update shop entity's listing list
         ShopEntity shop = shopsById.get(listing.getShopId());
         if (shop != null) {
             shop.removeListing(listingId);
         }
+        removeFromIndex(listingsByTerritory, territoryId, listing);
+        version.incrementAndGet();
+    }
+
+    private <K> void removeFromIndex(Map<K, List<Listing>> index, K key, Listing listing) {
+        if (key == null) {
+            return;
+        }
+        List<Listing> listings = index.get(key);
+        if (listings != null) {
+            listings.remove(listing);
+            if (listings.isEmpty()) {
+                index.remove(key);
+            }
+        }
     }
 
     /**
@@ -218,6 +312,33 @@ public class ShopRegistry {
         return Optional.ofNullable(listingsByLocation.get(getLocationKey(location)));
     }
 
+    /**
+     * Get the listing whose sign is at a specific location.
+     */
+    public Optional<Listing> getListingBySign(Location location) {
+        return Optional.ofNullable(listingsBySign.get(getLocationKey(location)));
+    }
+
+    /**
+     * Record where a listing's sign is, or null if it has none.
+     * Keeps the sign index and protected positions in sync.
+     */
+    public void setListingSign(Listing listing, Location signLocation) {
+        Location previous = listing.getSignLocation();
+        if (previous != null) {
+            listingsBySign.remove(getLocationKey(previous), listing);
+            protectedBlocks.remove(previous);
+        }
+
+        listing.setSignLocation(signLocation);
+
+        // Only index listings that are still registered
+        if (signLocation != null && listingsById.get(listing.getId()) == listing) {
+            listingsBySign.put(getLocationKey(signLocation), listing);
+            protectedBlocks.add(signLocation);
+        }
+    }
+
     /**
      * Get all listings in a chunk.
      */
@@ -254,6 +375,36 @@ public class ShopRegistry {
         return new ArrayList<>(listingsById.values());
     }
 
+    /**
+     * Get the total number of registered listings.
+     */
+    public int getTotalListingCount() {
+        return listingsById.size();
+    }
+
+    // ===== SEARCH INDEXES =====
+    // Read-only views of index buckets for search plans. Safe to iterate from any thread.
+
+    public Collection<Listing> getMaterialIndex(Material material) {
+        return indexView(listingsByMaterial.get(material));
+    }
+
+    public Collection<Listing> getOwnerIndex(UUID owner) {
+        return indexView(listingsByOwner.get(owner));
+    }
+
+    public Collection<Listing> getTerritoryIndex(String territoryId) {
+        return indexView(listingsByTerritory.get(territoryId));
+    }
+
+    public Collection<Listing> getChunkIndex(String worldName, int chunkX, int chunkZ) {
+        return indexView(listingsByChunk.get(worldName + ":" + chunkX + ":" + chunkZ));
+    }
+
+    private Collection<Listing> indexView(List<Listing> listings) {
+        return listings != null ? Collections.unmodifiableList(listings) : Collections.emptyList();
+    }
+
     /**
      * Get the number of listings in a shop.
      */
@@ -262,10 +413,69 @@ public class ShopRegistry {
     }
 
 
+    /**
+     * Get the index of protected block positions (listing chests and their signs).
+     */
+    public ProtectedBlockIndex getProtectedBlocks() {
+        return protectedBlocks;
+    }
+
+    /**
+     * Get the set of listing chest positions.
+     */
+    public BlockPositionSet getChestPositions() {
+        return chestPositions;
+    }
+
+    /**
+     * Get the fuzzy search index over listing item names.
+     */
+    public ItemNameIndex getItemNames() {
+        return itemNames;
+    }
+
+    /**
+     * Get the per-item market totals.
+     */
+    public MarketAggregates getMarkets() {
+        return markets;
+    }
+
+    /**
+     * Get the listing counts per directory filter choice.
+     */
+    public ListingFacets getFacets() {
+        return facets;
+    }
+
+    /**
+     * Check if a listing change can alter which search filters it matches. Stock and reservations
+     * only matter to minimum-stock filters and sorts, which are applied per search.
+     */
+    private static boolean affectsMatches(ListingSnapshot previous, ListingSnapshot current) {
+        return previous.type() != current.type()
+                || previous.material() != current.material()
+                || !Objects.equals(previous.mythicItemId(), current.mythicItemId())
+                || previous.price() != current.price()
+                || previous.silkRoadEnabled() != current.silkRoadEnabled();
+    }
+
+    /**
+     * Get the listing version, which changes whenever a listing is registered or removed,
+     * or changes in a way that can alter which search filters it matches.
+     * Safe to call from any thread.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
     /**
      * Clear all shops and listings from the registry.
      */
     public void clear() {
+        for (Listing listing : listingsById.values()) {
+            listing.setChangeListener(null);
+        }
         shopsById.clear();
         shopIdsByOwner.clear();
         shopsByOwnerAndName.clear();
@@ -273,7 +483,17 @@ public class ShopRegistry {
         listingIdsByShop.clear();
         listingsByChunk.clear();
         listingsByLocation.clear();
+        listingsBySign.clear();
         listingsByOwner.clear();
+        listingsByMaterial.clear();
+        listingsByTerritory.clear();
+        territoryByListing.clear();
+        protectedBlocks.clear();
+        chestPositions.clear();
+        itemNames.clear();
+        markets.clear();
+        facets.clear();
+        version.incrementAndGet();
     }
 
     private String getLocationKey(Location loc) {
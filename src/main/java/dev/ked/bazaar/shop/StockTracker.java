@@ -0,0 +1,125 @@
+package dev.ked.bazaar.shop;
+
+import dev.ked.bazaar.integration.MythicItemHandler;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Chest;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.inventory.DoubleChestInventory;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Counts listing stock from chest contents and keeps each listing's cached stock current.
+ * Chests are only read while their chunk is loaded; listings in unloaded chunks keep
+ * their last known count and are recounted when the chunk loads. Chests are also
+ * recounted when a player closes them, since items may have been moved by hand.
+ */
+public class StockTracker implements Listener {
+    private final ShopRegistry registry;
+    private final MythicItemHandler mythicItemHandler;
+
+    public StockTracker(ShopRegistry registry, MythicItemHandler mythicItemHandler) {
+        this.registry = registry;
+        this.mythicItemHandler = mythicItemHandler;
+    }
+
+    /**
+     * Check if an item is the one a listing trades (handles both vanilla and mythic items).
+     */
+    public boolean matches(Listing listing, ItemStack item) {
+        if (item == null) {
+            return false;
+        }
+        if (listing.isMythicItem()) {
+            return mythicItemHandler != null && mythicItemHandler.isMythicItem(item, listing.getMythicItemId());
+        }
+        ItemStack template = listing.getItemTemplate();
+        return template != null && item.isSimilar(template);
+    }
+
+    /**
+     * Count how many of a listing's items are in an inventory.
+     */
+    public int countStock(Listing listing, Inventory inventory) {
+        int count = 0;
+        for (ItemStack item : inventory.getStorageContents()) {
+            if (matches(listing, item)) {
+                count += item.getAmount();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Recount a listing's stock from its chest and update the cached value.
+     * If the chest's chunk is not loaded, the last known count is returned instead.
+     *
+     * @return The current or last known stock count
+     */
+    public int refreshStock(Listing listing) {
+        Location location = listing.getLocation();
+        if (!isChunkLoaded(location)) {
+            return listing.getStock();
+        }
+
+        // No snapshot needed, the inventory is only read
+        BlockState state = location.getBlock().getState(false);
+        int stock = state instanceof Chest chest ? countStock(listing, chest.getInventory()) : 0;
+        listing.setStock(stock);
+        return stock;
+    }
+
+    /**
+     * Recount listings in chunks as they load, so cached stock catches up
+     * without anything having to load the chunk.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        Chunk chunk = event.getChunk();
+        if (event.isNewChunk() || !registry.getProtectedBlocks().containsChunk(chunk.getWorld(), chunk.getX(), chunk.getZ())) {
+            return;
+        }
+
+        for (Listing listing : registry.getListingsInChunk(chunk)) {
+            refreshStock(listing);
+        }
+    }
+
+    /**
+     * Recount listing chests when a player closes them. Either half of a double chest counts.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClose(InventoryCloseEvent event) {
+        Inventory inventory = event.getInventory();
+        if (inventory.getType() != InventoryType.CHEST || registry.getChestPositions().isEmpty()) {
+            return;
+        }
+
+        if (inventory instanceof DoubleChestInventory doubleChest) {
+            refreshStockAt(doubleChest.getLeftSide().getLocation());
+            refreshStockAt(doubleChest.getRightSide().getLocation());
+        } else {
+            refreshStockAt(inventory.getLocation());
+        }
+    }
+
+    private void refreshStockAt(Location location) {
+        if (location == null || !registry.getChestPositions().contains(location)) {
+            return;
+        }
+        registry.getListingAt(location).ifPresent(this::refreshStock);
+    }
+
+    private boolean isChunkLoaded(Location location) {
+        World world = location.getWorld();
+        return world != null && world.isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+}
@@ -7,17 +7,12 @@ import dev.ked.bazaar.shop.*;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
-import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
-import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -28,14 +23,13 @@ import java.util.*;
  * GUI for configuring BUY listings.
  * Similar to ListingConfigGUI but with buy limit instead of quantity limit.
  */
-public class BuyListingConfigGUI implements Listener {
+public class BuyListingConfigGUI implements InventoryGUI {
     private final BazaarPlugin plugin;
     private final ConfigManager config;
     private final ShopRegistry registry;
     private final ShopEntityManager shopManager;
     private final HologramManager hologramManager;
     private final SignRenderer signRenderer;
-    private final MiniMessage miniMessage;
     private final MythicItemHandler mythicItemHandler;
 
     private final Map<UUID, BuyConfigSession> sessions = new HashMap<>();
@@ -49,7 +43,6 @@ public class BuyListingConfigGUI implements Listener {
         this.shopManager = shopManager;
         this.hologramManager = hologramManager;
         this.signRenderer = signRenderer;
-        this.miniMessage = MiniMessage.miniMessage();
         this.mythicItemHandler = mythicItemHandler;
     }
 
@@ -70,14 +63,13 @@ public class BuyListingConfigGUI implements Listener {
      */
     private void openMaterialSelector(Player player, BuyConfigSession session) {
         session.awaitingItemSelection = true;
-        MaterialSelectorGUI selector = new MaterialSelectorGUI(mythicItemHandler);
-        selector.openCategorySelector(player,
+        plugin.getMaterialSelectorGUI().openCategorySelector(player,
             // Vanilla item selected
             (selectedMaterial) -> {
                 session.item = new ItemStack(selectedMaterial, 1);
                 session.mythicItemId = null;
                 session.awaitingItemSelection = false;
-                player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<green>You will buy: " + selectedMaterial.name()));
+                player.sendMessage(config.message("listing-buy-item-selected", "item", selectedMaterial.name()));
 
                 // Open main config GUI
                 Bukkit.getScheduler().runTask(plugin, () -> openGUI(player, session));
@@ -85,21 +77,19 @@ public class BuyListingConfigGUI implements Listener {
             // Mythic item selected
             (mythicItemId) -> {
                 if (mythicItemHandler != null && mythicItemHandler.isEnabled()) {
-                    ItemStack mythicItem = mythicItemHandler.getMythicItem(mythicItemId, 1);
+                    ItemStack mythicItem = mythicItemHandler.getMythicItemTemplate(mythicItemId);
                     if (mythicItem != null) {
                         session.item = mythicItem;
                         session.mythicItemId = mythicItemId;
                         session.awaitingItemSelection = false;
 
-                        String displayName = mythicItem.getItemMeta().hasDisplayName()
-                            ? mythicItem.getItemMeta().displayName().toString()
-                            : mythicItemId;
-                        player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<green>You will buy: " + displayName));
+                        String displayName = mythicItemHandler.getMythicDisplayName(mythicItemId);
+                        player.sendMessage(config.message("listing-buy-item-selected", "item", displayName));
 
                         // Open main config GUI
                         Bukkit.getScheduler().runTask(plugin, () -> openGUI(player, session));
                     } else {
-                        player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Failed to load mythic item!"));
+                        player.sendMessage(config.prefixed("<red>Failed to load mythic item!"));
                     }
                 }
             }
@@ -110,7 +100,7 @@ public class BuyListingConfigGUI implements Listener {
      * Open the main configuration GUI.
      */
     private void openGUI(Player player, BuyConfigSession session) {
-        Inventory inv = Bukkit.createInventory(null, 27, Component.text("Configure BUY Listing", NamedTextColor.BLUE));
+        Inventory inv = GUIHolder.createInventory(this, 27, Component.text("Configure BUY Listing", NamedTextColor.BLUE));
 
         // Item display (slot 4)
         if (session.item != null) {
@@ -173,24 +163,18 @@ public class BuyListingConfigGUI implements Listener {
         return session.price > 0 && session.item != null;
     }
 
-    @EventHandler
-    public void onInventoryClick(InventoryClickEvent event) {
+    @Override
+    public void handleClick(InventoryClickEvent event) {
         if (!(event.getWhoClicked() instanceof Player player)) {
             return;
         }
 
-        if (!event.getView().title().equals(Component.text("Configure BUY Listing", NamedTextColor.BLUE))) {
-            return;
-        }
-
-        event.setCancelled(true);
-
         BuyConfigSession session = sessions.get(player.getUniqueId());
         if (session == null) {
             return;
         }
 
-        int slot = event.getSlot();
+        int slot = event.getRawSlot();
 
         switch (slot) {
             case 4: // Change item
@@ -199,21 +183,23 @@ public class BuyListingConfigGUI implements Listener {
                 break;
 
             case 11: // Set price
+                // Register the prompt first so closing doesn't reopen the GUI
+                awaitPriceInput(player, session);
                 player.closeInventory();
-                player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<yellow>Enter the price you'll pay per item (e.g., 10):"));
-                session.awaitingPriceInput = true;
+                player.sendMessage(config.prefixed("<yellow>Enter the price you'll pay per item (e.g., 10):"));
                 break;
 
             case 15: // Set buy limit
+                // Register the prompt first so closing doesn't reopen the GUI
+                awaitLimitInput(player, session);
                 player.closeInventory();
-                player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<yellow>Enter total items to buy (0 = unlimited):"));
-                session.awaitingLimitInput = true;
+                player.sendMessage(config.prefixed("<yellow>Enter total items to buy (0 = unlimited):"));
                 break;
 
             case 18: // Cancel
                 player.closeInventory();
                 sessions.remove(player.getUniqueId());
-                player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Listing creation cancelled."));
+                player.sendMessage(config.prefixed("<red>Listing creation cancelled."));
                 // Remove the chest
                 session.chestLocation.getBlock().setType(Material.AIR);
                 break;
@@ -222,29 +208,25 @@ public class BuyListingConfigGUI implements Listener {
                 if (isSessionValid(session)) {
                     confirmListing(player, session);
                 } else {
-                    player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Please set item and price first!"));
+                    player.sendMessage(config.prefixed("<red>Please set item and price first!"));
                 }
                 break;
         }
     }
 
-    @EventHandler
-    public void onInventoryClose(InventoryCloseEvent event) {
+    @Override
+    public void handleClose(InventoryCloseEvent event) {
         if (!(event.getPlayer() instanceof Player player)) {
             return;
         }
 
-        if (!event.getView().title().equals(Component.text("Configure BUY Listing", NamedTextColor.BLUE))) {
-            return;
-        }
-
         BuyConfigSession session = sessions.get(player.getUniqueId());
         if (session == null) {
             return;
         }
 
         // If awaiting input, don't remove session yet
-        if (session.awaitingPriceInput || session.awaitingLimitInput || session.awaitingItemSelection) {
+        if (session.awaitingItemSelection || plugin.getChatInputManager().isAwaitingInput(player.getUniqueId())) {
             return;
         }
 
@@ -258,54 +240,32 @@ public class BuyListingConfigGUI implements Listener {
         }
     }
 
-    @EventHandler
-    public void onPlayerChat(AsyncPlayerChatEvent event) {
-        Player player = event.getPlayer();
-        BuyConfigSession session = sessions.get(player.getUniqueId());
-
-        if (session == null) {
-            return;
-        }
-
-        if (session.awaitingPriceInput) {
-            event.setCancelled(true);
-            String input = event.getMessage();
-
-            try {
-                double price = Double.parseDouble(input);
-                if (price <= 0) {
-                    player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Price must be greater than 0!"));
-                } else {
-                    session.price = price;
-                    player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<green>Price set to $" + price));
-                    session.awaitingPriceInput = false;
-
-                    // Reopen GUI
-                    Bukkit.getScheduler().runTask(plugin, () -> openGUI(player, session));
-                }
-            } catch (NumberFormatException e) {
-                player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Invalid number! Try again:"));
+    /**
+     * Prompt for the price in chat and reopen the GUI once it is set.
+     */
+    private void awaitPriceInput(Player player, BuyConfigSession session) {
+        plugin.getChatInputManager().awaitInput(player, ChatInputManager.priceParser(), price -> {
+            if (sessions.get(player.getUniqueId()) != session) {
+                return;
             }
-        } else if (session.awaitingLimitInput) {
-            event.setCancelled(true);
-            String input = event.getMessage();
-
-            try {
-                int limit = Integer.parseInt(input);
-                if (limit < 0) {
-                    player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Limit must be 0 or greater!"));
-                } else {
-                    session.buyLimit = limit;
-                    player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<green>Buy limit set to " + (limit == 0 ? "unlimited" : limit)));
-                    session.awaitingLimitInput = false;
+            session.price = price;
+            player.sendMessage(config.message("listing-price-set", "price", String.format("%.2f", price)));
+            openGUI(player, session);
+        });
+    }
 
-                    // Reopen GUI
-                    Bukkit.getScheduler().runTask(plugin, () -> openGUI(player, session));
-                }
-            } catch (NumberFormatException e) {
-                player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Invalid number! Try again:"));
+    /**
+     * Prompt for the limit in chat and reopen the GUI once it is set.
+     */
+    private void awaitLimitInput(Player player, BuyConfigSession session) {
+        plugin.getChatInputManager().awaitInput(player, ChatInputManager.limitParser(), limit -> {
+            if (sessions.get(player.getUniqueId()) != session) {
+                return;
             }
-        }
+            session.buyLimit = limit;
+            player.sendMessage(config.message("listing-buy-limit-set", "limit", limit == 0 ? "unlimited" : String.valueOf(limit)));
+            openGUI(player, session);
+        });
     }
 
     /**
@@ -317,7 +277,7 @@ public class BuyListingConfigGUI implements Listener {
         // Get shop entity
         Optional<ShopEntity> shopOpt = registry.getShopById(session.shopId);
         if (shopOpt.isEmpty()) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Shop not found!"));
+            player.sendMessage(config.prefixed("<red>Shop not found!"));
             sessions.remove(player.getUniqueId());
             return;
         }
@@ -335,6 +295,7 @@ public class BuyListingConfigGUI implements Listener {
                     player.getUniqueId(),
                     ListingType.BUY,
                     session.mythicItemId,
+                    session.item != null ? session.item.getType() : null,
                     session.price,
                     session.buyLimit
             );
@@ -361,18 +322,17 @@ public class BuyListingConfigGUI implements Listener {
         // Send success message
         String itemName;
         if (session.mythicItemId != null) {
-            itemName = session.item.getItemMeta().hasDisplayName()
-                ? session.item.getItemMeta().displayName().toString()
+            itemName = mythicItemHandler != null
+                ? mythicItemHandler.getMythicDisplayName(session.mythicItemId)
                 : session.mythicItemId;
         } else {
             itemName = session.item.getType().name().toLowerCase().replace('_', ' ');
         }
 
-        String message = config.getMessage("listing-created",
-                "type", "<blue>BUY</blue>",
-                "item", itemName,
-                "price", String.format("%.2f", session.price));
-        player.sendMessage(miniMessage.deserialize(message));
+        player.sendMessage(config.message("listing-created", Map.of(
+                "type", Component.text("BUY", NamedTextColor.BLUE),
+                "item", Component.text(itemName),
+                "price", Component.text(String.format("%.2f", session.price)))));
 
         // Play sound
         player.playSound(player.getLocation(), org.bukkit.Sound.BLOCK_NOTE_BLOCK_PLING, 1.0f, 2.0f);
@@ -399,20 +359,6 @@ public class BuyListingConfigGUI implements Listener {
         return item;
     }
 
-    /**
-     * Register this listener.
-     */
-    public void register() {
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
-    }
-
-    /**
-     * Unregister this listener.
-     */
-    public void unregister() {
-        HandlerList.unregisterAll(this);
-    }
-
     /**
      * Clean up all sessions (for plugin disable).
      */
@@ -436,8 +382,6 @@ public class BuyListingConfigGUI implements Listener {
         String mythicItemId; // For MythicMobs items
         double price = 0;
         int buyLimit = 0;
-        boolean awaitingPriceInput = false;
-        boolean awaitingLimitInput = false;
         boolean awaitingItemSelection = false;
 
         BuyConfigSession(UUID shopId, Location chestLocation) {
@@ -0,0 +1,156 @@
+package dev.ked.bazaar.ui;
+
+import dev.ked.bazaar.config.ConfigManager;
+import io.papermc.paper.event.player.AsyncChatEvent;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Captures typed chat input for GUIs (prices, limits).
+ * Input is parsed and validated on the async chat thread; only the parsed value is handed to the main thread.
+ */
+public class ChatInputManager implements Listener {
+    private final Plugin plugin;
+    private final ConfigManager config;
+
+    // Written from the main thread, read and removed from the async chat thread
+    private final Map<UUID, PendingInput<?>> pending = new ConcurrentHashMap<>();
+
+    public ChatInputManager(Plugin plugin, ConfigManager config) {
+        this.plugin = plugin;
+        this.config = config;
+    }
+
+    /**
+     * Wait for the player's next valid chat message.
+     * Invalid input is answered with the parser's error and the player is asked again.
+     *
+     * @param player The player to capture input from
+     * @param parser Parses and validates the message; called off the main thread
+     * @param onInput Receives the parsed value on the main thread
+     */
+    public <T> void awaitInput(Player player, Parser<T> parser, Consumer<T> onInput) {
+        pending.put(player.getUniqueId(), new PendingInput<>(parser, onInput));
+    }
+
+    /**
+     * Check if a player has a pending input prompt.
+     */
+    public boolean isAwaitingInput(UUID playerId) {
+        return pending.containsKey(playerId);
+    }
+
+    /**
+     * Drop all pending input prompts (for plugin disable).
+     */
+    public void clear() {
+        pending.clear();
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onChat(AsyncChatEvent event) {
+        Player player = event.getPlayer();
+        PendingInput<?> input = pending.get(player.getUniqueId());
+        if (input == null) {
+            return;
+        }
+
+        event.setCancelled(true);
+        String message = PlainTextComponentSerializer.plainText().serialize(event.message()).trim();
+        handleInput(player, input, message);
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        pending.remove(event.getPlayer().getUniqueId());
+    }
+
+    private <T> void handleInput(Player player, PendingInput<T> input, String message) {
+        Result<T> result = input.parser().parse(message);
+        if (result.error() != null) {
+            player.sendMessage(config.prefixed(result.error()));
+            return;
+        }
+
+        // Only the first valid message for this prompt is accepted
+        if (!pending.remove(player.getUniqueId(), input)) {
+            return;
+        }
+
+        T value = result.value();
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            if (player.isOnline()) {
+                input.onInput().accept(value);
+            }
+        });
+    }
+
+    /**
+     * Parse a price greater than 0.
+     */
+    public static Parser<Double> priceParser() {
+        return input -> {
+            try {
+                double price = Double.parseDouble(input);
+                if (!(price > 0) || Double.isInfinite(price)) {
+                    return Result.error("<red>Price must be greater than 0!");
+                }
+                return Result.of(price);
+            } catch (NumberFormatException e) {
+                return Result.error("<red>Invalid number! Try again:");
+            }
+        };
+    }
+
+    /**
+     * Parse a limit of 0 or greater (0 = unlimited).
+     */
+    public static Parser<Integer> limitParser() {
+        return input -> {
+            try {
+                int limit = Integer.parseInt(input);
+                if (limit < 0) {
+                    return Result.error("<red>Limit must be 0 or greater!");
+                }
+                return Result.of(limit);
+            } catch (NumberFormatException e) {
+                return Result.error("<red>Invalid number! Try again:");
+            }
+        };
+    }
+
+    /**
+     * Parses and validates a chat message. Must not touch world or GUI state.
+     */
+    @FunctionalInterface
+    public interface Parser<T> {
+        Result<T> parse(String input);
+    }
+
+    /**
+     * A parsed value, or a MiniMessage error to show the player.
+     */
+    public record Result<T>(T value, String error) {
+        public static <T> Result<T> of(T value) {
+            return new Result<>(value, null);
+        }
+
+        public static <T> Result<T> error(String error) {
+            return new Result<>(null, error);
+        }
+    }
+
+    private record PendingInput<T>(Parser<T> parser, Consumer<T> onInput) {
+    }
+}
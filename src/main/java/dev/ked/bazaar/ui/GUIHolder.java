@@ -0,0 +1,41 @@
+package dev.ked.bazaar.ui;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+
+/**
+ * Inventory holder marking BetterShop GUI inventories.
+ * Carries the GUI that owns the inventory so events can be dispatched with a single type check.
+ */
+public class GUIHolder implements InventoryHolder {
+    private final InventoryGUI gui;
+    private Inventory inventory;
+
+    private GUIHolder(InventoryGUI gui) {
+        this.gui = gui;
+    }
+
+    /**
+     * Create an inventory owned by a GUI.
+     * @param gui The GUI that handles clicks in the inventory
+     * @param size The inventory size
+     * @param title The inventory title
+     * @return The created inventory
+     */
+    public static Inventory createInventory(InventoryGUI gui, int size, Component title) {
+        GUIHolder holder = new GUIHolder(gui);
+        holder.inventory = Bukkit.createInventory(holder, size, title);
+        return holder.inventory;
+    }
+
+    public InventoryGUI getGui() {
+        return gui;
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+}
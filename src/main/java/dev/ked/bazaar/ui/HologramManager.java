@@ -5,11 +5,11 @@ import dev.ked.bazaar.integration.MythicItemHandler;
 import dev.ked.bazaar.shop.*;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
-import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
 import org.bukkit.entity.ArmorStand;
 import org.bukkit.entity.EntityType;
-import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -18,10 +18,13 @@ import java.util.concurrent.ConcurrentHashMap;
  * Manages hologram displays above listings using armor stands.
  */
 public class HologramManager {
+    // PDC marker on hologram armor stands, holding the owning listing ID
+    public static final NamespacedKey HOLOGRAM_KEY = new NamespacedKey("bettershop", "hologram_listing");
+
     private final ConfigManager config;
     private final ShopRegistry registry;
     private MythicItemHandler mythicItemHandler;
-    private final MiniMessage miniMessage = MiniMessage.miniMessage();
+    private StockTracker stockTracker;
 
     // Map of listing location -> hologram armor stand
     private final Map<Location, ArmorStand> holograms = new ConcurrentHashMap<>();
@@ -35,6 +38,10 @@ public class HologramManager {
         this.mythicItemHandler = mythicItemHandler;
     }
 
+    public void setStockTracker(StockTracker stockTracker) {
+        this.stockTracker = stockTracker;
+    }
+
     /**
      * Create a hologram for a listing.
      */
@@ -57,6 +64,9 @@ public class HologramManager {
         armorStand.setInvulnerable(true);
         armorStand.setPersistent(true);
 
+        // Tag with listing ID so orphans can be found after a crash or reload
+        armorStand.getPersistentDataContainer().set(HOLOGRAM_KEY, PersistentDataType.STRING, listing.getId().toString());
+
         // Set custom name
         updateHologramText(armorStand, listing);
 
@@ -110,7 +120,7 @@ public class HologramManager {
         }
 
         // Get stock
-        int stock = getStock(listing);
+        int stock = stockTracker.refreshStock(listing);
 
         // Get item name
         String itemName = getItemDisplayName(listing);
@@ -134,15 +144,7 @@ public class HologramManager {
      */
     private String getItemDisplayName(Listing listing) {
         if (listing.isMythicItem() && mythicItemHandler != null) {
-            ItemStack mythicItem = mythicItemHandler.getMythicItem(listing.getMythicItemId(), 1);
-            if (mythicItem != null && mythicItem.getItemMeta().hasDisplayName()) {
-                // Remove formatting codes for hologram display
-                Component displayName = mythicItem.getItemMeta().displayName();
-                if (displayName != null) {
-                    return miniMessage.stripTags(miniMessage.serialize(displayName));
-                }
-            }
-            return listing.getMythicItemId();
+            return mythicItemHandler.getMythicDisplayName(listing.getMythicItemId());
         } else if (listing.getItem() != null) {
             return listing.getItem().getType().name().toLowerCase().replace('_', ' ');
         }
@@ -150,40 +152,47 @@ public class HologramManager {
     }
 
     /**
-     * Get stock for a listing.
+     * Get the location for a hologram above a chest.
+     */
+    private Location getHologramLocation(Location chestLocation) {
+        return chestLocation.clone().add(0.5, 1.5, 0.5);
+    }
+
+    /**
+     * Reconcile a hologram armor stand loaded from the world with the registry.
+     * Re-links holograms whose tracked reference went stale (chunk reload) and
+     * removes tagged stands that no longer belong to a registered listing.
+     * @param armorStand The armor stand to check
+     * @return true if the armor stand was removed as an orphan
      */
-    private int getStock(Listing listing) {
-        org.bukkit.block.Block block = listing.getLocation().getBlock();
-        if (!(block.getState() instanceof org.bukkit.block.Chest chest)) {
-            return 0;
+    public boolean reconcileHologram(ArmorStand armorStand) {
+        String listingId = armorStand.getPersistentDataContainer().get(HOLOGRAM_KEY, PersistentDataType.STRING);
+        if (listingId == null) {
+            return false; // Not one of ours
         }
 
-        int count = 0;
+        Optional<Listing> listingOpt = Optional.empty();
+        try {
+            listingOpt = registry.getListingById(UUID.fromString(listingId));
+        } catch (IllegalArgumentException ignored) {
+            // Corrupt tag - treat as orphan
+        }
 
-        // Handle mythic items
-        if (listing.isMythicItem() && mythicItemHandler != null) {
-            for (ItemStack item : chest.getInventory().getContents()) {
-                if (item != null && mythicItemHandler.isMythicItem(item, listing.getMythicItemId())) {
-                    count += item.getAmount();
-                }
+        if (listingOpt.isPresent() && config.areHologramsEnabled()) {
+            Location listingLocation = listingOpt.get().getLocation();
+            ArmorStand tracked = holograms.get(listingLocation);
+
+            if (tracked == null || !tracked.isValid()) {
+                holograms.put(listingLocation, armorStand);
+                return false;
             }
-        } else if (listing.getItem() != null) {
-            // Handle vanilla items
-            for (ItemStack item : chest.getInventory().getContents()) {
-                if (item != null && item.isSimilar(listing.getItem())) {
-                    count += item.getAmount();
-                }
+            if (tracked.getUniqueId().equals(armorStand.getUniqueId())) {
+                return false;
             }
         }
 
-        return count;
-    }
-
-    /**
-     * Get the location for a hologram above a chest.
-     */
-    private Location getHologramLocation(Location chestLocation) {
-        return chestLocation.clone().add(0.5, 1.5, 0.5);
+        armorStand.remove();
+        return true;
     }
 
     /**
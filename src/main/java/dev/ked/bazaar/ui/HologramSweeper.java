@@ -0,0 +1,85 @@
+package dev.ked.bazaar.ui;
+
+import dev.ked.bazaar.config.ConfigManager;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.ArmorStand;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Removes hologram armor stands left behind by a crash or reload.
+ * Candidates are queued as chunk entities load and checked in small batches each tick.
+ */
+public class HologramSweeper implements Listener {
+    private final Plugin plugin;
+    private final ConfigManager config;
+    private final HologramManager hologramManager;
+
+    private final Deque<ArmorStand> pending = new ArrayDeque<>();
+    private BukkitTask sweepTask;
+
+    public HologramSweeper(Plugin plugin, ConfigManager config, HologramManager hologramManager) {
+        this.plugin = plugin;
+        this.config = config;
+        this.hologramManager = hologramManager;
+    }
+
+    /**
+     * Start the sweep task and queue armor stands in already loaded chunks.
+     */
+    public void start() {
+        for (World world : Bukkit.getWorlds()) {
+            for (ArmorStand armorStand : world.getEntitiesByClass(ArmorStand.class)) {
+                if (armorStand.isMarker()) {
+                    pending.add(armorStand);
+                }
+            }
+        }
+
+        sweepTask = Bukkit.getScheduler().runTaskTimer(plugin, this::sweep, 1L, 1L);
+    }
+
+    /**
+     * Stop the sweep task.
+     */
+    public void stop() {
+        if (sweepTask != null) {
+            sweepTask.cancel();
+            sweepTask = null;
+        }
+        pending.clear();
+    }
+
+    /**
+     * Queue marker armor stands from newly loaded chunks.
+     */
+    @EventHandler
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            if (entity instanceof ArmorStand armorStand && armorStand.isMarker()) {
+                pending.add(armorStand);
+            }
+        }
+    }
+
+    /**
+     * Check a bounded batch of queued armor stands.
+     */
+    private void sweep() {
+        int budget = config.getHologramSweepPerTick();
+        while (budget-- > 0 && !pending.isEmpty()) {
+            ArmorStand armorStand = pending.poll();
+            if (armorStand.isValid()) {
+                hologramManager.reconcileHologram(armorStand);
+            }
+        }
+    }
+}
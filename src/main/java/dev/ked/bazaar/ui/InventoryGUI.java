@@ -0,0 +1,23 @@
+package dev.ked.bazaar.ui;
+
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+
+/**
+ * A BetterShop inventory GUI.
+ * Clicks and closes are routed to it by GUIListener via its GUIHolder.
+ */
+public interface InventoryGUI {
+
+    /**
+     * Handle a click in an inventory owned by this GUI.
+     * Only called for clicks in the GUI inventory itself; the event has already been cancelled.
+     */
+    void handleClick(InventoryClickEvent event);
+
+    /**
+     * Handle an inventory owned by this GUI being closed.
+     */
+    default void handleClose(InventoryCloseEvent event) {
+    }
+}
@@ -6,17 +6,12 @@ import dev.ked.bazaar.shop.*;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
-import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
-import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -27,14 +22,13 @@ import java.util.*;
  * GUI for configuring SELL listings.
  * Allows players to set price, quantity limit, and confirm creation.
  */
-public class ListingConfigGUI implements Listener {
+public class ListingConfigGUI implements InventoryGUI {
     private final BazaarPlugin plugin;
     private final ConfigManager config;
     private final ShopRegistry registry;
     private final ShopEntityManager shopManager;
     private final HologramManager hologramManager;
     private final SignRenderer signRenderer;
-    private final MiniMessage miniMessage;
 
     private final Map<UUID, ConfigSession> sessions = new HashMap<>();
 
@@ -46,7 +40,6 @@ public class ListingConfigGUI implements Listener {
         this.shopManager = shopManager;
         this.hologramManager = hologramManager;
         this.signRenderer = signRenderer;
-        this.miniMessage = MiniMessage.miniMessage();
     }
 
     /**
@@ -65,7 +58,7 @@ public class ListingConfigGUI implements Listener {
      * Open the main configuration GUI.
      */
     private void openGUI(Player player, ConfigSession session) {
-        Inventory inv = Bukkit.createInventory(null, 27, Component.text("Configure Listing", NamedTextColor.DARK_PURPLE));
+        Inventory inv = GUIHolder.createInventory(this, 27, Component.text("Configure Listing", NamedTextColor.DARK_PURPLE));
 
         // Price input button (slot 10)
         ItemStack priceItem = createGuiItem(Material.GOLD_INGOT,
@@ -131,37 +124,33 @@ public class ListingConfigGUI implements Listener {
         return session.price > 0 && (session.type == ListingType.BUY || session.item != null);
     }
 
-    @EventHandler
-    public void onInventoryClick(InventoryClickEvent event) {
+    @Override
+    public void handleClick(InventoryClickEvent event) {
         if (!(event.getWhoClicked() instanceof Player player)) {
             return;
         }
 
-        if (!event.getView().title().equals(Component.text("Configure Listing", NamedTextColor.DARK_PURPLE))) {
-            return;
-        }
-
-        event.setCancelled(true);
-
         ConfigSession session = sessions.get(player.getUniqueId());
         if (session == null) {
             return;
         }
 
-        int slot = event.getSlot();
+        int slot = event.getRawSlot();
 
         switch (slot) {
             case 10: // Set price
+                // Register the prompt first so closing doesn't reopen the GUI
+                awaitPriceInput(player, session);
                 player.closeInventory();
-                player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<yellow>Enter the price per item in chat (e.g., 100):"));
-                session.awaitingPriceInput = true;
+                player.sendMessage(config.prefixed("<yellow>Enter the price per item in chat (e.g., 100):"));
                 break;
 
             case 12: // Set quantity limit (SELL only)
                 if (session.type == ListingType.SELL) {
+                    // Register the prompt first so closing doesn't reopen the GUI
+                    awaitLimitInput(player, session);
                     player.closeInventory();
-                    player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<yellow>Enter quantity limit in chat (0 = unlimited):"));
-                    session.awaitingLimitInput = true;
+                    player.sendMessage(config.prefixed("<yellow>Enter quantity limit in chat (0 = unlimited):"));
                 }
                 break;
 
@@ -176,7 +165,7 @@ public class ListingConfigGUI implements Listener {
             case 18: // Cancel
                 player.closeInventory();
                 sessions.remove(player.getUniqueId());
-                player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Listing creation cancelled."));
+                player.sendMessage(config.prefixed("<red>Listing creation cancelled."));
                 // Remove the chest
                 session.chestLocation.getBlock().setType(Material.AIR);
                 break;
@@ -185,29 +174,25 @@ public class ListingConfigGUI implements Listener {
                 if (isSessionValid(session)) {
                     confirmListing(player, session);
                 } else {
-                    player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Please set a price first!"));
+                    player.sendMessage(config.prefixed("<red>Please set a price first!"));
                 }
                 break;
         }
     }
 
-    @EventHandler
-    public void onInventoryClose(InventoryCloseEvent event) {
+    @Override
+    public void handleClose(InventoryCloseEvent event) {
         if (!(event.getPlayer() instanceof Player player)) {
             return;
         }
 
-        if (!event.getView().title().equals(Component.text("Configure Listing", NamedTextColor.DARK_PURPLE))) {
-            return;
-        }
-
         ConfigSession session = sessions.get(player.getUniqueId());
         if (session == null) {
             return;
         }
 
         // If awaiting input, don't remove session yet
-        if (session.awaitingPriceInput || session.awaitingLimitInput || session.awaitingItemSelection) {
+        if (session.awaitingItemSelection || plugin.getChatInputManager().isAwaitingInput(player.getUniqueId())) {
             return;
         }
 
@@ -221,54 +206,32 @@ public class ListingConfigGUI implements Listener {
         }
     }
 
-    @EventHandler
-    public void onPlayerChat(AsyncPlayerChatEvent event) {
-        Player player = event.getPlayer();
-        ConfigSession session = sessions.get(player.getUniqueId());
-
-        if (session == null) {
-            return;
-        }
-
-        if (session.awaitingPriceInput) {
-            event.setCancelled(true);
-            String input = event.getMessage();
-
-            try {
-                double price = Double.parseDouble(input);
-                if (price <= 0) {
-                    player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Price must be greater than 0!"));
-                } else {
-                    session.price = price;
-                    player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<green>Price set to $" + price));
-                    session.awaitingPriceInput = false;
-
-                    // Reopen GUI
-                    Bukkit.getScheduler().runTask(plugin, () -> openGUI(player, session));
-                }
-            } catch (NumberFormatException e) {
-                player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Invalid number! Try again:"));
+    /**
+     * Prompt for the price in chat and reopen the GUI once it is set.
+     */
+    private void awaitPriceInput(Player player, ConfigSession session) {
+        plugin.getChatInputManager().awaitInput(player, ChatInputManager.priceParser(), price -> {
+            if (sessions.get(player.getUniqueId()) != session) {
+                return;
             }
-        } else if (session.awaitingLimitInput) {
-            event.setCancelled(true);
-            String input = event.getMessage();
-
-            try {
-                int limit = Integer.parseInt(input);
-                if (limit < 0) {
-                    player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Limit must be 0 or greater!"));
-                } else {
-                    session.quantityLimit = limit;
-                    player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<green>Quantity limit set to " + (limit == 0 ? "unlimited" : limit)));
-                    session.awaitingLimitInput = false;
+            session.price = price;
+            player.sendMessage(config.message("listing-price-set", "price", String.format("%.2f", price)));
+            openGUI(player, session);
+        });
+    }
 
-                    // Reopen GUI
-                    Bukkit.getScheduler().runTask(plugin, () -> openGUI(player, session));
-                }
-            } catch (NumberFormatException e) {
-                player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Invalid number! Try again:"));
+    /**
+     * Prompt for the limit in chat and reopen the GUI once it is set.
+     */
+    private void awaitLimitInput(Player player, ConfigSession session) {
+        plugin.getChatInputManager().awaitInput(player, ChatInputManager.limitParser(), limit -> {
+            if (sessions.get(player.getUniqueId()) != session) {
+                return;
             }
-        }
+            session.quantityLimit = limit;
+            player.sendMessage(config.message("listing-limit-set", "limit", limit == 0 ? "unlimited" : String.valueOf(limit)));
+            openGUI(player, session);
+        });
     }
 
     /**
@@ -276,13 +239,12 @@ public class ListingConfigGUI implements Listener {
      */
     private void openMaterialSelector(Player player, ConfigSession session) {
         session.awaitingItemSelection = true;
-        MaterialSelectorGUI selector = new MaterialSelectorGUI(plugin.getMythicItemHandler());
-        selector.openCategorySelector(player,
+        plugin.getMaterialSelectorGUI().openCategorySelector(player,
             // Vanilla item selected
             (selectedMaterial) -> {
                 session.item = new ItemStack(selectedMaterial, 1);
                 session.awaitingItemSelection = false;
-                player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<green>Item selected: " + selectedMaterial.name()));
+                player.sendMessage(config.message("listing-item-selected", "item", selectedMaterial.name()));
 
                 // Reopen config GUI
                 Bukkit.getScheduler().runTask(plugin, () -> openGUI(player, session));
@@ -304,7 +266,7 @@ public class ListingConfigGUI implements Listener {
         // Get shop entity
         Optional<ShopEntity> shopOpt = registry.getShopById(session.shopId);
         if (shopOpt.isEmpty()) {
-            player.sendMessage(miniMessage.deserialize(config.getMessage("prefix") + "<red>Shop not found!"));
+            player.sendMessage(config.prefixed("<red>Shop not found!"));
             sessions.remove(player.getUniqueId());
             return;
         }
@@ -341,12 +303,11 @@ public class ListingConfigGUI implements Listener {
 
         // Send success message
         String itemName = session.item != null ? session.item.getType().name().toLowerCase().replace('_', ' ') : "any item";
-        String typeColor = session.type == ListingType.SELL ? "<green>" : "<blue>";
-        String message = config.getMessage("listing-created",
-                "type", typeColor + session.type.name() + "</" + typeColor.substring(1),
-                "item", itemName,
-                "price", String.format("%.2f", session.price));
-        player.sendMessage(miniMessage.deserialize(message));
+        NamedTextColor typeColor = session.type == ListingType.SELL ? NamedTextColor.GREEN : NamedTextColor.BLUE;
+        player.sendMessage(config.message("listing-created", Map.of(
+                "type", Component.text(session.type.name(), typeColor),
+                "item", Component.text(itemName),
+                "price", Component.text(String.format("%.2f", session.price)))));
 
         // Play sound
         player.playSound(player.getLocation(), org.bukkit.Sound.BLOCK_NOTE_BLOCK_PLING, 1.0f, 2.0f);
@@ -392,20 +353,6 @@ public class ListingConfigGUI implements Listener {
         return item;
     }
 
-    /**
-     * Register this listener.
-     */
-    public void register() {
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
-    }
-
-    /**
-     * Unregister this listener.
-     */
-    public void unregister() {
-        HandlerList.unregisterAll(this);
-    }
-
     /**
      * Clean up all sessions (for plugin disable).
      */
@@ -429,8 +376,6 @@ public class ListingConfigGUI implements Listener {
         ItemStack item;
         double price = 0;
         int quantityLimit = 0;
-        boolean awaitingPriceInput = false;
-        boolean awaitingLimitInput = false;
         boolean awaitingItemSelection = false;
 
         ConfigSession(UUID shopId, Location chestLocation, ListingType type) {
@@ -0,0 +1,71 @@
+package dev.ked.bazaar.ui;
+
+import dev.ked.bazaar.shop.ListingSnapshot;
+import net.kyori.adventure.text.Component;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Rendered shop directory icons, shared by all viewers.
+ * An icon is reused until its listing's version or owner name changes; the
+ * per-viewer line is spliced into the cached lore when the icon is shown.
+ * Main thread only.
+ */
+public class ListingIconCache {
+    private static final int MAX_ENTRIES = 2048;
+
+    // Least recently shown icons are dropped first
+    private final Map<UUID, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * A rendered icon whose lore has a gap between its head and tail for a per-viewer line.
+     */
+    public record Icon(ItemStack base, List<Component> loreHead, List<Component> loreTail) {
+
+        /**
+         * Get a copy of the icon with a line placed between the lore head and tail.
+         */
+        public ItemStack withLine(Component line) {
+            ItemStack item = base.clone();
+            ItemMeta meta = item.getItemMeta();
+            if (meta != null) {
+                List<Component> lore = new ArrayList<>(loreHead.size() + 1 + loreTail.size());
+                lore.addAll(loreHead);
+                lore.add(line);
+                lore.addAll(loreTail);
+                meta.lore(lore);
+                item.setItemMeta(meta);
+            }
+            return item;
+        }
+    }
+
+    private record Entry(long version, String ownerName, Icon icon) {
+    }
+
+    /**
+     * Get the icon for a listing, rendering it only if the listing or its owner's name changed since last time.
+     */
+    public Icon get(ListingSnapshot listing, String ownerName, Function<ListingSnapshot, Icon> render) {
+        Entry entry = entries.get(listing.id());
+        if (entry != null && entry.version() == listing.version() && entry.ownerName().equals(ownerName)) {
+            return entry.icon();
+        }
+
+        Icon icon = render.apply(listing);
+        entries.put(listing.id(), new Entry(listing.version(), ownerName, icon));
+        return icon;
+    }
+}
@@ -4,14 +4,10 @@ import dev.ked.bazaar.integration.MythicItemHandler;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -22,13 +18,15 @@ import java.util.function.Consumer;
 /**
  * GUI for selecting materials when creating BUY shops without an item in hand.
  */
-public class MaterialSelectorGUI implements Listener {
-    private final Map<Inventory, MaterialSelectorData> openGUIs = new HashMap<>();
+public class MaterialSelectorGUI {
     private final MythicItemHandler mythicItemHandler;
 
     // Material categories
     private static final Map<String, List<Material>> CATEGORIES = new LinkedHashMap<>();
 
+    // Material -> categories listing it (a material can appear in several)
+    private static final Map<Material, List<String>> CATEGORIES_BY_MATERIAL = new EnumMap<>(Material.class);
+
     static {
         // Building Blocks
         CATEGORIES.put("Building", Arrays.asList(
@@ -117,41 +115,66 @@ public class MaterialSelectorGUI implements Listener {
                 Material.MAGMA_CREAM, Material.PHANTOM_MEMBRANE, Material.SHULKER_SHELL,
                 Material.DRAGON_BREATH, Material.TOTEM_OF_UNDYING, Material.NETHER_STAR
         ));
+
+        for (Map.Entry<String, List<Material>> entry : CATEGORIES.entrySet()) {
+            for (Material material : entry.getValue()) {
+                CATEGORIES_BY_MATERIAL.computeIfAbsent(material, k -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
     }
 
+    private static final String MYTHIC_CATEGORY = "Mythic Items";
+    private static final int CATEGORY_PAGE_SIZE = 36;
+    private static final int MYTHIC_CATEGORY_SLOT = 16;
+
+    // Prebuilt page contents, copied into each new inventory (setContents copies every stack)
+    private final ItemStack[] categoryPage;
+    private final String[] categoryBySlot;
+    private final Map<String, ItemStack[]> materialPages = new HashMap<>();
+
+    // Mythic page, rebuilt when MythicMobs reloads its items
+    private MythicPage mythicPage;
+
     public MaterialSelectorGUI(MythicItemHandler mythicItemHandler) {
         this.mythicItemHandler = mythicItemHandler;
+
+        this.categoryPage = new ItemStack[CATEGORY_PAGE_SIZE];
+        this.categoryBySlot = new String[CATEGORY_PAGE_SIZE];
+        buildCategoryPage();
+
+        for (Map.Entry<String, List<Material>> entry : CATEGORIES.entrySet()) {
+            materialPages.put(entry.getKey(), buildMaterialPage(entry.getValue()));
+        }
+    }
+
+    /**
+     * Get the category names, in display order.
+     */
+    public static Set<String> getCategoryNames() {
+        return Collections.unmodifiableSet(CATEGORIES.keySet());
+    }
+
+    /**
+     * Get the categories a material is listed under, if any.
+     */
+    public static List<String> getCategories(Material material) {
+        return CATEGORIES_BY_MATERIAL.getOrDefault(material, List.of());
     }
 
     /**
      * Open the category selection GUI.
      */
     public void openCategorySelector(Player player, Consumer<Material> onSelect, Consumer<String> onMythicSelect) {
-        Inventory inv = Bukkit.createInventory(null, 36, Component.text("Select Item Category"));
-
-        int slot = 10;
-        for (String category : CATEGORIES.keySet()) {
-            ItemStack item = createCategoryItem(category);
-            inv.setItem(slot, item);
-            slot++;
-            if (slot == 17) slot = 19; // Skip to next row
-        }
+        Inventory inv = GUIHolder.createInventory(new MaterialSelectorData(null, onSelect, onMythicSelect, null),
+                CATEGORY_PAGE_SIZE, Component.text("Select Item Category"));
+        inv.setContents(categoryPage);
 
         // Add Mythic Items category if enabled
-        if (mythicItemHandler != null && mythicItemHandler.isEnabled()) {
-            ItemStack mythicCategory = createMythicCategoryItem();
-            inv.setItem(16, mythicCategory);
-        }
-
-        // Add glass panes for decoration
-        ItemStack grayPane = createGlassPane(Material.GRAY_STAINED_GLASS_PANE);
-        for (int i = 0; i < 36; i++) {
-            if (inv.getItem(i) == null) {
-                inv.setItem(i, grayPane);
-            }
+        MythicPage mythic = getMythicPage();
+        if (mythic != null) {
+            inv.setItem(MYTHIC_CATEGORY_SLOT, mythic.categoryItem());
         }
 
-        openGUIs.put(inv, new MaterialSelectorData(null, onSelect, onMythicSelect));
         player.openInventory(inv);
     }
 
@@ -159,29 +182,15 @@ public class MaterialSelectorGUI implements Listener {
      * Open the material selection GUI for a specific category.
      */
     public void openMaterialSelector(Player player, String category, Consumer<Material> onSelect, Consumer<String> onMythicSelect) {
-        List<Material> materials = CATEGORIES.get(category);
-        if (materials == null) {
+        ItemStack[] page = materialPages.get(category);
+        if (page == null) {
             return;
         }
 
-        int size = ((materials.size() + 8) / 9) * 9; // Round up to nearest multiple of 9
-        size = Math.min(54, Math.max(27, size)); // Between 27 and 54 slots
+        Inventory inv = GUIHolder.createInventory(new MaterialSelectorData(category, onSelect, onMythicSelect, null),
+                page.length, Component.text("Select " + category));
+        inv.setContents(page);
 
-        Inventory inv = Bukkit.createInventory(null, size, Component.text("Select " + category));
-
-        for (int i = 0; i < materials.size() && i < size - 9; i++) {
-            Material material = materials.get(i);
-            inv.setItem(i, createMaterialItem(material));
-        }
-
-        // Back button
-        ItemStack backButton = new ItemStack(Material.ARROW);
-        ItemMeta meta = backButton.getItemMeta();
-        meta.displayName(Component.text("← Back", NamedTextColor.YELLOW).decoration(TextDecoration.ITALIC, false));
-        backButton.setItemMeta(meta);
-        inv.setItem(size - 5, backButton);
-
-        openGUIs.put(inv, new MaterialSelectorData(category, onSelect, onMythicSelect));
         player.openInventory(inv);
     }
 
@@ -189,82 +198,44 @@ public class MaterialSelectorGUI implements Listener {
      * Open the mythic items selection GUI.
      */
     public void openMythicItemSelector(Player player, Consumer<String> onMythicSelect, Consumer<Material> onVanillaSelect) {
-        if (mythicItemHandler == null || !mythicItemHandler.isEnabled()) {
+        MythicPage mythic = getMythicPage();
+        if (mythic == null) {
             return;
         }
 
-        List<String> mythicItemIds = mythicItemHandler.getAllMythicItemIds();
-
-        int size = ((mythicItemIds.size() + 8) / 9) * 9;
-        size = Math.min(54, Math.max(27, size));
-
-        Inventory inv = Bukkit.createInventory(null, size, Component.text("Select Mythic Item", NamedTextColor.DARK_PURPLE));
-
-        for (int i = 0; i < mythicItemIds.size() && i < size - 9; i++) {
-            String mythicId = mythicItemIds.get(i);
-            ItemStack mythicItem = mythicItemHandler.getMythicItem(mythicId, 1);
+        Inventory inv = GUIHolder.createInventory(
+                new MaterialSelectorData(MYTHIC_CATEGORY, onVanillaSelect, onMythicSelect, mythic.idsBySlot()),
+                mythic.contents().length, Component.text("Select Mythic Item", NamedTextColor.DARK_PURPLE));
+        inv.setContents(mythic.contents());
 
-            if (mythicItem != null) {
-                // Add lore to indicate this is a mythic item
-                ItemMeta meta = mythicItem.getItemMeta();
-                List<Component> lore = new ArrayList<>(meta.lore() != null ? meta.lore() : List.of());
-                lore.add(Component.empty());
-                lore.add(Component.text("Click to select", NamedTextColor.YELLOW).decoration(TextDecoration.ITALIC, false));
-                meta.lore(lore);
-                mythicItem.setItemMeta(meta);
-
-                inv.setItem(i, mythicItem);
-            }
-        }
-
-        // Back button
-        ItemStack backButton = new ItemStack(Material.ARROW);
-        ItemMeta meta = backButton.getItemMeta();
-        meta.displayName(Component.text("← Back", NamedTextColor.YELLOW).decoration(TextDecoration.ITALIC, false));
-        backButton.setItemMeta(meta);
-        inv.setItem(size - 5, backButton);
-
-        openGUIs.put(inv, new MaterialSelectorData("Mythic Items", onVanillaSelect, onMythicSelect));
         player.openInventory(inv);
     }
 
-    @EventHandler
-    public void onInventoryClick(InventoryClickEvent event) {
+    /**
+     * Handle a click in one of the selector inventories.
+     */
+    private void handleClick(InventoryClickEvent event, MaterialSelectorData data) {
         if (!(event.getWhoClicked() instanceof Player player)) {
             return;
         }
 
-        Inventory inventory = event.getInventory();
-        MaterialSelectorData data = openGUIs.get(inventory);
-
-        if (data == null) {
-            return;
-        }
-
-        event.setCancelled(true);
-
         ItemStack clicked = event.getCurrentItem();
         if (clicked == null || clicked.getType() == Material.AIR || clicked.getType() == Material.GRAY_STAINED_GLASS_PANE) {
             return;
         }
 
-        // Check if back button
-        if (clicked.getType() == Material.ARROW) {
-            player.closeInventory();
-            openCategorySelector(player, data.onSelect, data.onMythicSelect);
-            return;
-        }
+        int slot = event.getRawSlot();
 
         // If in category view, open material selector
         if (data.category == null) {
             // Check if mythic category was clicked
-            if (clicked.getType() == Material.NETHER_STAR) {
+            if (slot == MYTHIC_CATEGORY_SLOT && clicked.getType() == Material.NETHER_STAR) {
                 player.closeInventory();
                 openMythicItemSelector(player, data.onMythicSelect, data.onSelect);
                 return;
             }
 
-            String categoryName = getCategoryFromItem(clicked);
+            String categoryName = categoryBySlot[slot];
             if (categoryName != null) {
                 player.closeInventory();
                 openMaterialSelector(player, categoryName, data.onSelect, data.onMythicSelect);
@@ -272,10 +243,16 @@ public class MaterialSelectorGUI implements Listener {
             return;
         }
 
+        // Check if back button
+        if (slot == event.getInventory().getSize() - 5) {
+            player.closeInventory();
+            openCategorySelector(player, data.onSelect, data.onMythicSelect);
+            return;
+        }
+
         // Check if in mythic items view
-        if ("Mythic Items".equals(data.category)) {
-            // Get mythic ID from the item
-            String mythicId = mythicItemHandler.getMythicId(clicked);
+        if (data.mythicIds != null) {
+            String mythicId = data.mythicIds[slot];
             if (mythicId != null) {
                 player.closeInventory();
                 data.onMythicSelect.accept(mythicId);
@@ -289,9 +266,92 @@ public class MaterialSelectorGUI implements Listener {
         data.onSelect.accept(selected);
     }
 
-    @EventHandler
-    public void onInventoryClose(InventoryCloseEvent event) {
-        openGUIs.remove(event.getInventory());
+    private void buildCategoryPage() {
+        int slot = 10;
+        for (String category : CATEGORIES.keySet()) {
+            categoryPage[slot] = createCategoryItem(category);
+            categoryBySlot[slot] = category;
+            slot++;
+            if (slot == 17) slot = 19; // Skip to next row
+        }
+
+        // Add glass panes for decoration
+        ItemStack grayPane = createGlassPane(Material.GRAY_STAINED_GLASS_PANE);
+        for (int i = 0; i < CATEGORY_PAGE_SIZE; i++) {
+            if (categoryPage[i] == null) {
+                categoryPage[i] = grayPane;
+            }
+        }
+    }
+
+    private ItemStack[] buildMaterialPage(List<Material> materials) {
+        ItemStack[] page = new ItemStack[pageSize(materials.size())];
+
+        for (int i = 0; i < materials.size() && i < page.length - 9; i++) {
+            page[i] = createMaterialItem(materials.get(i));
+        }
+
+        page[page.length - 5] = createBackButton();
+        return page;
+    }
+
+    /**
+     * Get the mythic page, rebuilding it if MythicMobs has reloaded since it was built.
+     *
+     * @return The mythic page, or null if MythicMobs is not available
+     */
+    private MythicPage getMythicPage() {
+        if (mythicItemHandler == null || !mythicItemHandler.isEnabled()) {
+            return null;
+        }
+
+        int version = mythicItemHandler.getCacheVersion();
+        if (mythicPage == null || mythicPage.version() != version) {
+            mythicPage = buildMythicPage(version);
+        }
+        return mythicPage;
+    }
+
+    private MythicPage buildMythicPage(int version) {
+        List<String> mythicItemIds = mythicItemHandler.getAllMythicItemIds();
+
+        int size = pageSize(mythicItemIds.size());
+        ItemStack[] contents = new ItemStack[size];
+        String[] idsBySlot = new String[size];
+
+        for (int i = 0; i < mythicItemIds.size() && i < size - 9; i++) {
+            String mythicId = mythicItemIds.get(i);
+            ItemStack mythicItem = mythicItemHandler.getMythicItemTemplate(mythicId);
+
+            if (mythicItem != null) {
+                // Add lore to indicate this is a mythic item
+                ItemMeta meta = mythicItem.getItemMeta();
+                List<Component> lore = new ArrayList<>(meta.lore() != null ? meta.lore() : List.of());
+                lore.add(Component.empty());
+                lore.add(Component.text("Click to select", NamedTextColor.YELLOW).decoration(TextDecoration.ITALIC, false));
+                meta.lore(lore);
+                mythicItem.setItemMeta(meta);
+
+                contents[i] = mythicItem;
+                idsBySlot[i] = mythicId;
+            }
+        }
+
+        contents[size - 5] = createBackButton();
+        return new MythicPage(version, createMythicCategoryItem(mythicItemIds.size()), contents, idsBySlot);
+    }
+
+    private int pageSize(int itemCount) {
+        int size = ((itemCount + 8) / 9) * 9; // Round up to nearest multiple of 9
+        return Math.min(54, Math.max(27, size)); // Between 27 and 54 slots
+    }
+
+    private ItemStack createBackButton() {
+        ItemStack backButton = new ItemStack(Material.ARROW);
+        ItemMeta meta = backButton.getItemMeta();
+        meta.displayName(Component.text("← Back", NamedTextColor.YELLOW).decoration(TextDecoration.ITALIC, false));
+        backButton.setItemMeta(meta);
+        return backButton;
     }
 
     private ItemStack createCategoryItem(String category) {
@@ -321,18 +381,17 @@ public class MaterialSelectorGUI implements Listener {
         return item;
     }
 
-    private ItemStack createMythicCategoryItem() {
+    private ItemStack createMythicCategoryItem(int itemCount) {
         ItemStack item = new ItemStack(Material.NETHER_STAR);
         ItemMeta meta = item.getItemMeta();
         meta.displayName(Component.text("✦ Mythic Items ✦", NamedTextColor.DARK_PURPLE, TextDecoration.BOLD)
                 .decoration(TextDecoration.ITALIC, false));
 
-        List<String> mythicItems = mythicItemHandler.getAllMythicItemIds();
         meta.lore(Arrays.asList(
                 Component.text("Rare drops from mythic bosses", NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false),
                 Component.text("Storm-infused gear and materials", NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false),
                 Component.empty(),
-                Component.text(mythicItems.size() + " items", NamedTextColor.DARK_GRAY).decoration(TextDecoration.ITALIC, false)
+                Component.text(itemCount + " items", NamedTextColor.DARK_GRAY).decoration(TextDecoration.ITALIC, false)
         ));
 
         meta.addEnchant(Enchantment.UNBREAKING, 1, true);
@@ -371,27 +430,25 @@ public class MaterialSelectorGUI implements Listener {
         return result.toString();
     }
 
-    private String getCategoryFromItem(ItemStack item) {
-        Material type = item.getType();
-        for (Map.Entry<String, List<Material>> entry : CATEGORIES.entrySet()) {
-            // Check if this is the category icon
-            ItemStack categoryItem = createCategoryItem(entry.getKey());
-            if (categoryItem.getType() == type) {
-                return entry.getKey();
-            }
-        }
-        return null;
-    }
-
-    private static class MaterialSelectorData {
+    private class MaterialSelectorData implements InventoryGUI {
         final String category; // null if in category view
         final Consumer<Material> onSelect;
         final Consumer<String> onMythicSelect;
+        final String[] mythicIds; // null unless in mythic items view
 
-        MaterialSelectorData(String category, Consumer<Material> onSelect, Consumer<String> onMythicSelect) {
+        MaterialSelectorData(String category, Consumer<Material> onSelect, Consumer<String> onMythicSelect, String[] mythicIds) {
             this.category = category;
             this.onSelect = onSelect;
             this.onMythicSelect = onMythicSelect;
+            this.mythicIds = mythicIds;
         }
+
+        @Override
+        public void handleClick(InventoryClickEvent event) {
+            MaterialSelectorGUI.this.handleClick(event, this);
+        }
+    }
+
+    private record MythicPage(int version, ItemStack categoryItem, ItemStack[] contents, String[] idsBySlot) {
     }
 }
\ No newline at end of file
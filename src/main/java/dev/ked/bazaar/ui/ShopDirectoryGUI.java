@@ -1,45 +1,64 @@
 package dev.ked.bazaar.ui;
 
 import dev.ked.bazaar.BazaarPlugin;
+import dev.ked.bazaar.discovery.SearchPage;
 import dev.ked.bazaar.discovery.ShopSearchFilter;
-import dev.ked.bazaar.shop.Listing;
+import dev.ked.bazaar.integration.TerritoryManager;
+import dev.ked.bazaar.shop.ListingFacets;
+import dev.ked.bazaar.shop.ListingSnapshot;
 import dev.ked.bazaar.shop.ListingType;
-import dev.ked.bazaar.shop.ShopRegistry;
+import dev.ked.bazaar.shop.MarketAggregates;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
-import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * GUI for browsing all BetterShop listings.
+ * Searches run in the background; the GUI shows a loading placeholder until results arrive.
+ * The market overview shows one icon per item from the registry's running totals and drills into its listings.
  */
-public class ShopDirectoryGUI {
+public class ShopDirectoryGUI implements InventoryGUI {
+    private static final int PAGE_SIZE = 45;
+
     private final BazaarPlugin plugin;
     private final Player player;
     private final Inventory inventory;
+    private final String searchQuery; // Fuzzy item name search, or null to browse everything
     private int page = 0;
-    private List<Listing> listings;
-    private ShopSearchFilter filter;
+    private List<ListingSnapshot> listings = List.of(); // Listings on the current page
+    private int totalMatches;
+    private SearchPage.Cursor nextCursor; // Null on the last page
+    private final List<SearchPage.Cursor> pageStarts = new ArrayList<>(); // Cursor each visited page starts after
+    private boolean loading;
+    private int searchId; // Results from superseded searches are dropped
+    private Boolean silkRoadOnly = null; // null = all, true = silk road only
     private ListingType filterType = null; // null = all, SELL = only sell, BUY = only buy
     private ShopSearchFilter.SortOption sortOption = ShopSearchFilter.SortOption.PRICE_LOW_TO_HIGH;
+    private boolean marketView; // Show one icon per item instead of individual listings
+    private List<MarketAggregates.ItemMarket> markets = List.of(); // Items in the market overview
+    private MarketAggregates.ItemKey itemFilter; // Item drilled into from the overview, or null
 
     public ShopDirectoryGUI(BazaarPlugin plugin, Player player) {
         this.plugin = plugin;
         this.player = player;
-        this.inventory = Bukkit.createInventory(null, 54,
+        this.searchQuery = null;
+        this.inventory = GUIHolder.createInventory(this, 54,
                 Component.text("Shop Directory").color(NamedTextColor.GOLD));
 
         loadListings();
-        buildGUI();
     }
 
     /**
@@ -48,54 +67,115 @@ public class ShopDirectoryGUI {
     public ShopDirectoryGUI(BazaarPlugin plugin, Player player, Boolean silkRoadOnly) {
         this.plugin = plugin;
         this.player = player;
+        this.searchQuery = null;
         String title = silkRoadOnly != null && silkRoadOnly ? "Silk Road Shops" : "Shop Directory";
-        this.inventory = Bukkit.createInventory(null, 54,
+        this.inventory = GUIHolder.createInventory(this, 54,
                 Component.text(title).color(NamedTextColor.GOLD));
 
         // Pre-set filter
-        this.filter = new ShopSearchFilter()
-                .silkRoadOnly(silkRoadOnly)
-                .nearLocation(player.getLocation(), null)
-                .sortBy(sortOption);
+        this.silkRoadOnly = silkRoadOnly;
 
         loadListings();
-        buildGUI();
     }
 
-    private void loadListings() {
-        ShopRegistry shopRegistry = plugin.getShopRegistry();
+    /**
+     * Constructor for item name search results. Closest matches come first.
+     */
+    public ShopDirectoryGUI(BazaarPlugin plugin, Player player, String searchQuery) {
+        this.plugin = plugin;
+        this.player = player;
+        this.searchQuery = searchQuery;
+        this.inventory = GUIHolder.createInventory(this, 54,
+                Component.text("Search: " + searchQuery).color(NamedTextColor.GOLD));
 
-        // Build filter
-        if (filter == null) {
-            filter = new ShopSearchFilter()
-                    .nearLocation(player.getLocation(), null) // For distance sorting
-                    .sortBy(sortOption);
+        loadListings();
+    }
+
+    /**
+     * Search from the first page for the current filter and show a loading placeholder meanwhile.
+     */
+    private void loadListings() {
+        page = 0;
+        searchId++; // Drop any search still running
+        if (marketView) {
+            // Totals are kept current by the registry, so the overview needs no search
+            markets = plugin.getShopRegistry().getMarkets().getAll();
+            loading = false;
+            buildGUI();
+            return;
         }
 
-        if (filterType != null) {
-            filter.listingType(filterType);
+        pageStarts.clear();
+        pageStarts.add(null);
+        loading = true;
+        buildGUI();
+        loadPage();
+    }
+
+    /**
+     * Fetch the current page in the background. The inventory is refilled when it arrives.
+     */
+    private void loadPage() {
+        ShopSearchFilter filter = new ShopSearchFilter()
+                .silkRoadOnly(silkRoadOnly)
+                .listingType(filterType)
+                .nameQuery(searchQuery)
+                .nearLocation(player.getLocation(), null) // For distance sorting
+                .sortBy(sortOption);
+        if (itemFilter != null) {
+            filter.item(itemFilter.material(), itemFilter.mythicItemId());
         }
 
-        // Get all listings and filter
-        listings = shopRegistry.getAllListings().stream()
-                .filter(listing -> listing.getItem() != null) // Skip empty listings
-                .filter(filter::matches)
-                .sorted(filter.getComparator())
-                .collect(Collectors.toList());
+        int id = ++searchId;
+        loading = true;
+
+        plugin.getListingSearchService().search(filter, pageStarts.get(page), PAGE_SIZE, result -> {
+            if (id != searchId) {
+                return;
+            }
+
+            // Listings removed since the previous page was shown can leave this page empty
+            if (result.results().isEmpty() && page > 0) {
+                page--;
+                loadPage();
+                return;
+            }
+
+            listings = result.results();
+            totalMatches = result.totalMatches();
+            nextCursor = result.next();
+            loading = false;
+
+            // Redraw once owner names missing from the cache are looked up
+            Set<UUID> owners = new HashSet<>();
+            for (ListingSnapshot listing : listings) {
+                owners.add(listing.owner());
+            }
+            plugin.getOwnerNameCache().prefetch(owners, () -> {
+                if (id == searchId && !loading) {
+                    buildGUI();
+                }
+            });
+
+            buildGUI();
+        });
     }
 
     private void buildGUI() {
         inventory.clear();
 
-        // Calculate pagination
-        int listingsPerPage = 45;
-        int startIndex = page * listingsPerPage;
-        int endIndex = Math.min(startIndex + listingsPerPage, listings.size());
+        if (loading) {
+            buildLoadingGUI();
+            return;
+        }
+        if (marketView) {
+            buildMarketGUI();
+            return;
+        }
 
         // Display listings
         int slot = 0;
-        for (int i = startIndex; i < endIndex; i++) {
-            Listing listing = listings.get(i);
+        for (ListingSnapshot listing : listings) {
             inventory.setItem(slot++, createListingItem(listing));
         }
 
@@ -113,6 +193,7 @@ public class ShopDirectoryGUI {
         // Control buttons
         inventory.setItem(45, createFilterTypeButton());
         inventory.setItem(46, createSortButton());
+        inventory.setItem(47, createMarketButton());
         inventory.setItem(48, createPreviousButton());
         inventory.setItem(49, createInfoButton());
         inventory.setItem(50, createNextButton());
@@ -124,8 +205,8 @@ public class ShopDirectoryGUI {
                     "§c§lNo Shops Found",
                     List.of(
                             "§7━━━━━━━━━━━━━━━━━━━━━━━━━━━━",
-                            "§7No shops match your",
-                            "§7current filter settings.",
+                            searchQuery != null ? "§7No items match §f" + searchQuery : "§7No shops match your",
+                            searchQuery != null ? "§7with these filter settings." : "§7current filter settings.",
                             "",
                             "§7Try changing the filter!",
                             "§7━━━━━━━━━━━━━━━━━━━━━━━━━━━━"
@@ -134,50 +215,171 @@ public class ShopDirectoryGUI {
         }
     }
 
-    private ItemStack createListingItem(Listing listing) {
+    /**
+     * Show the control row and a loading placeholder while a search runs.
+     */
+    private void buildLoadingGUI() {
+        ItemStack grayPane = createItem(Material.GRAY_STAINED_GLASS_PANE, "§r", null);
+        for (int i = 0; i < 54; i++) {
+            inventory.setItem(i, grayPane);
+        }
+
+        inventory.setItem(22, createItem(Material.CLOCK, "§e§lLoading...",
+                List.of("§7Searching shops")));
+        inventory.setItem(45, createFilterTypeButton());
+        inventory.setItem(46, createSortButton());
+        inventory.setItem(47, createMarketButton());
+        inventory.setItem(53, createCloseButton());
+    }
+
+    /**
+     * Show one icon per traded item with its market totals.
+     */
+    private void buildMarketGUI() {
+        int start = page * PAGE_SIZE;
+        int slot = 0;
+        for (int i = start; i < markets.size() && slot < PAGE_SIZE; i++) {
+            inventory.setItem(slot++, createMarketItem(markets.get(i)));
+        }
+
+        ItemStack grayPane = createItem(Material.GRAY_STAINED_GLASS_PANE, "§r", null);
+        for (int i = slot; i < 54; i++) {
+            inventory.setItem(i, grayPane);
+        }
+
+        inventory.setItem(47, createMarketButton());
+        inventory.setItem(48, createPreviousButton());
+        inventory.setItem(49, createMarketInfoButton());
+        inventory.setItem(50, createNextButton());
+        inventory.setItem(53, createCloseButton());
+
+        if (markets.isEmpty()) {
+            inventory.setItem(22, createItem(Material.BARRIER, "§c§lNo Shops Found",
+                    List.of("§7Nothing is being traded yet.")));
+        }
+    }
+
+    private ItemStack createMarketItem(MarketAggregates.ItemMarket market) {
+        MarketAggregates.ItemKey key = market.getKey();
+        List<String> lore = new ArrayList<>();
+        lore.add("§7━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        lore.add("§eListings: §f" + market.getListingCount()
+                + " §7(" + market.getSellListingCount() + " selling, " + market.getBuyListingCount() + " buying)");
+        if (market.getSellListingCount() > 0) {
+            lore.add("§eLowest Sell: §a$" + String.format("%.2f", market.getMinSellPrice()));
+            lore.add("§eAverage Sell: §a$" + String.format("%.2f", market.getAverageSellPrice()));
+            lore.add("§eTotal Stock: §f" + market.getTotalStock());
+        }
+        if (market.getBuyListingCount() > 0) {
+            lore.add("§eHighest Buy: §b$" + String.format("%.2f", market.getMaxBuyPrice()));
+        }
+        lore.add("");
+        lore.add("§7Click to view listings");
+        lore.add("§7━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+
+        String name = key.isMythicItem() ? key.mythicItemId() : formatMaterial(key.material());
+        return createItem(key.material(), "§6§l" + name, lore);
+    }
+
+    /**
+     * Market totals cover every listing, so the overview is only offered when
+     * the directory is not narrowed by a search or the Silk Road filter.
+     */
+    private boolean isMarketViewAvailable() {
+        return searchQuery == null && silkRoadOnly == null;
+    }
+
+    private ItemStack createMarketButton() {
+        if (!marketView && !isMarketViewAvailable()) {
+            return createItem(Material.GRAY_STAINED_GLASS_PANE, "§r", null);
+        }
+        if (marketView) {
+            return createItem(Material.CHEST, "§6§lAll Listings",
+                    List.of("§7Click to browse individual listings"));
+        }
+        List<String> lore = new ArrayList<>();
+        lore.add("§7Click to see one entry per item");
+        lore.add("§7with prices and stock totals");
+        if (itemFilter != null) {
+            lore.add("");
+            lore.add("§eShowing: §f" + (itemFilter.isMythicItem()
+                    ? itemFilter.mythicItemId() : formatMaterial(itemFilter.material())));
+        }
+        return createItem(Material.ENDER_CHEST, "§6§lMarket Overview", lore);
+    }
+
+    private ItemStack createMarketInfoButton() {
+        return createItem(Material.BOOK, "§6§lMarket Info", List.of(
+                "§7━━━━━━━━━━━━━━━━━━━━━━━━━━━━",
+                "§eItems Traded: §f" + markets.size(),
+                "§ePage: §f" + (page + 1) + "/" + getMaxPages(),
+                "§7━━━━━━━━━━━━━━━━━━━━━━━━━━━━"));
+    }
+
+    /**
+     * Get a listing's icon from the shared cache, with this player's distance spliced in.
+     */
+    private ItemStack createListingItem(ListingSnapshot listing) {
+        String ownerName = plugin.getOwnerNameCache().getName(listing.owner());
+        ListingIconCache.Icon icon = plugin.getListingIconCache().get(listing, ownerName,
+                snapshot -> renderListingIcon(snapshot, ownerName));
+
+        Location playerLocation = player.getLocation();
+        double distance = Math.sqrt(listing.distanceSquared(playerLocation.getWorld().getUID(),
+                playerLocation.getX(), playerLocation.getY(), playerLocation.getZ()));
+        String distanceLine = Double.isInfinite(distance)
+                ? "§eDistance: §fOther world"
+                : "§eDistance: §f" + String.format("%.0f", distance) + " blocks";
+        return icon.withLine(loreLine(distanceLine));
+    }
+
+    /**
+     * Render the viewer-independent parts of a listing's icon. The distance line goes between the lore head and tail.
+     */
+    private ListingIconCache.Icon renderListingIcon(ListingSnapshot listing, String ownerName) {
         List<String> lore = new ArrayList<>();
         lore.add("§7━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
-        lore.add("§eOwner: §f" + Bukkit.getOfflinePlayer(listing.getOwner()).getName());
-        lore.add("§eType: §f" + (listing.getType() == ListingType.SELL ? "§aSelling" : "§bBuying"));
-        lore.add("§ePrice: §a$" + String.format("%.2f", listing.getPrice()));
+        lore.add("§eOwner: §f" + ownerName);
+        lore.add("§eType: §f" + (listing.type() == ListingType.SELL ? "§aSelling" : "§bBuying"));
+        lore.add("§ePrice: §a$" + String.format("%.2f", listing.price()));
 
-        if (listing.getType() == ListingType.SELL) {
-            int totalReserved = listing.getTotalReservedStock();
+        if (listing.type() == ListingType.SELL) {
+            int totalReserved = listing.reservedStock();
             if (totalReserved > 0) {
                 lore.add("§7  (§e" + totalReserved + " §7in transit)");
             }
         }
 
         // Silk Road badge
-        if (listing.isSilkRoadEnabled()) {
+        if (listing.silkRoadEnabled()) {
             lore.add("§6⭐ Silk Road Enabled");
         }
 
         lore.add("");
-        lore.add("§eLocation: §f" + listing.getLocation().getBlockX() + ", " +
-                listing.getLocation().getBlockY() + ", " +
-                listing.getLocation().getBlockZ());
+        lore.add("§eLocation: §f" + listing.x() + ", " + listing.y() + ", " + listing.z());
 
-        double distance = player.getLocation().distance(listing.getLocation());
-        lore.add("§eDistance: §f" + String.format("%.0f", distance) + " blocks");
+        List<String> tail = List.of(
+                "",
+                "§7Click for more options",
+                "§7━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
 
-        lore.add("");
-        lore.add("§7Click for more options");
-        lore.add("§7━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
-
-        Material displayMat = listing.getItem().getType();
         String itemName = getItemName(listing);
-        return createItem(displayMat, "§6§l" + itemName, lore);
+        return new ListingIconCache.Icon(createItem(listing.material(), "§6§l" + itemName, null),
+                loreLines(lore), loreLines(tail));
     }
 
-    private String getItemName(Listing listing) {
+    private String getItemName(ListingSnapshot listing) {
         if (listing.isMythicItem()) {
-            return listing.getMythicItemId();
+            return listing.mythicItemId();
         }
-        if (listing.getItem() == null) {
+        if (listing.material() == null) {
             return "Unknown";
         }
-        String name = listing.getItem().getType().name().toLowerCase().replace("_", " ");
+        return formatMaterial(listing.material());
+    }
+
+    private String formatMaterial(Material material) {
+        String name = material.name().toLowerCase().replace("_", " ");
         return name.substring(0, 1).toUpperCase() + name.substring(1);
     }
 
@@ -190,14 +392,63 @@ public class ShopDirectoryGUI {
         lore.add("§eCurrent: §a" + current);
         lore.add("");
         lore.add("§7Click to cycle:");
-        lore.add(filterType == null ? "§a▸ All Shops" : "§7  All Shops");
-        lore.add(filterType == ListingType.SELL ? "§a▸ Sell Shops Only" : "§7  Sell Shops Only");
-        lore.add(filterType == ListingType.BUY ? "§a▸ Buy Shops Only" : "§7  Buy Shops Only");
+
+        // Result counts per choice come from running totals, so showing them costs no search
+        int[] counts = getTypeCounts();
+        lore.add((filterType == null ? "§a▸ All Shops" : "§7  All Shops") + formatCount(counts, 0));
+        lore.add((filterType == ListingType.SELL ? "§a▸ Sell Shops Only" : "§7  Sell Shops Only") + formatCount(counts, 1));
+        lore.add((filterType == ListingType.BUY ? "§a▸ Buy Shops Only" : "§7  Buy Shops Only") + formatCount(counts, 2));
+
+        ListingFacets facets = plugin.getShopRegistry().getFacets();
+        lore.add("");
+        if (silkRoadOnly == null) {
+            lore.add("§6⭐ Silk Road: §f" + facets.getTotal(true));
+        }
+        TerritoryManager territoryManager = plugin.getTerritoryManager();
+        String territoryId = territoryManager != null ? territoryManager.getTerritoryId(player.getLocation()) : null;
+        if (territoryId != null) {
+            lore.add("§eIn This Territory: §f" + facets.getTerritoryCount(territoryId));
+        }
+        lore.add("§eBy Category:");
+        for (String category : MaterialSelectorGUI.getCategoryNames()) {
+            int count = facets.getCategoryCount(category);
+            if (count > 0) {
+                lore.add("§7  " + category + ": §f" + count);
+            }
+        }
         lore.add("§7━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
 
         return createItem(Material.HOPPER, "§6§lFilter Type", lore);
     }
 
+    /**
+     * Get the result counts for All, Sell and Buy, or null if the current view has no exact counts.
+     */
+    private int[] getTypeCounts() {
+        if (searchQuery != null) {
+            return null;
+        }
+        if (itemFilter != null) {
+            MarketAggregates.ItemMarket market = plugin.getShopRegistry().getMarkets().get(itemFilter);
+            if (silkRoadOnly != null) {
+                return null;
+            }
+            if (market == null) {
+                return new int[3];
+            }
+            return new int[]{market.getListingCount(), market.getSellListingCount(), market.getBuyListingCount()};
+        }
+        ListingFacets facets = plugin.getShopRegistry().getFacets();
+        return new int[]{
+                facets.getTotal(silkRoadOnly),
+                facets.getTypeCount(ListingType.SELL, silkRoadOnly),
+                facets.getTypeCount(ListingType.BUY, silkRoadOnly)};
+    }
+
+    private String formatCount(int[] counts, int index) {
+        return counts != null ? " §8(" + counts[index] + ")" : "";
+    }
+
     private ItemStack createSortButton() {
         List<String> lore = new ArrayList<>();
         lore.add("§7━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
@@ -216,7 +467,7 @@ public class ShopDirectoryGUI {
     private ItemStack createInfoButton() {
         List<String> lore = new ArrayList<>();
         lore.add("§7━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
-        lore.add("§eTotal Listings: §f" + listings.size());
+        lore.add("§eTotal Listings: §f" + totalMatches);
         lore.add("§ePage: §f" + (page + 1) + "/" + getMaxPages());
         lore.add("");
 
@@ -225,8 +476,12 @@ public class ShopDirectoryGUI {
         lore.add("§eFilter: §f" + filterInfo);
         lore.add("§eSort: §f" + sortOption.getDisplayName());
 
-        if (filter.getSilkRoadOnly() != null) {
-            lore.add("§eSilk Road: §f" + (filter.getSilkRoadOnly() ? "Only" : "Excluded"));
+        if (searchQuery != null) {
+            lore.add("§eSearch: §f" + searchQuery + " §7(best matches first)");
+        }
+
+        if (silkRoadOnly != null) {
+            lore.add("§eSilk Road: §f" + (silkRoadOnly ? "Only" : "Excluded"));
         }
 
         lore.add("§7━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
@@ -247,7 +502,7 @@ public class ShopDirectoryGUI {
     private ItemStack createNextButton() {
         List<String> lore = new ArrayList<>();
         lore.add("§7Next page");
-        if (page >= getMaxPages() - 1) {
+        if (marketView ? !hasNextMarketPage() : nextCursor == null) {
             lore.add("§c§lLast page");
         }
 
@@ -267,11 +522,7 @@ public class ShopDirectoryGUI {
             meta.displayName(Component.text(name).decoration(TextDecoration.ITALIC, false));
 
             if (lore != null && !lore.isEmpty()) {
-                List<Component> componentLore = new ArrayList<>();
-                for (String line : lore) {
-                    componentLore.add(Component.text(line).decoration(TextDecoration.ITALIC, false));
-                }
-                meta.lore(componentLore);
+                meta.lore(loreLines(lore));
             }
 
             item.setItemMeta(meta);
@@ -280,28 +531,48 @@ public class ShopDirectoryGUI {
         return item;
     }
 
+    private List<Component> loreLines(List<String> lines) {
+        List<Component> componentLore = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            componentLore.add(loreLine(line));
+        }
+        return componentLore;
+    }
+
+    private Component loreLine(String line) {
+        return Component.text(line).decoration(TextDecoration.ITALIC, false);
+    }
+
     private int getMaxPages() {
-        return Math.max(1, (int) Math.ceil(listings.size() / 45.0));
+        int total = marketView ? markets.size() : totalMatches;
+        return Math.max(1, (int) Math.ceil(total / (double) PAGE_SIZE));
+    }
+
+    private boolean hasNextMarketPage() {
+        return (page + 1) * PAGE_SIZE < markets.size();
     }
 
     public void open() {
         player.openInventory(inventory);
     }
 
-    public void handleClick(int slot) {
+    @Override
+    public void handleClick(InventoryClickEvent event) {
+        int slot = event.getRawSlot();
+        if (marketView) {
+            handleMarketClick(slot);
+            return;
+        }
         if (slot >= 0 && slot < 45) {
             // Listing click
-            int listingIndex = (page * 45) + slot;
-            if (listingIndex < listings.size()) {
-                Listing listing = listings.get(listingIndex);
+            if (!loading && slot < listings.size()) {
+                ListingSnapshot listing = listings.get(slot);
                 // Send location info to player
                 player.sendMessage(Component.text("Shop Location: " +
-                        listing.getLocation().getBlockX() + ", " +
-                        listing.getLocation().getBlockY() + ", " +
-                        listing.getLocation().getBlockZ())
+                        listing.x() + ", " + listing.y() + ", " + listing.z())
                         .color(NamedTextColor.GOLD));
                 player.sendMessage(Component.text("Owner: " +
-                        Bukkit.getOfflinePlayer(listing.getOwner()).getName())
+                        plugin.getOwnerNameCache().getName(listing.owner()))
                         .color(NamedTextColor.GRAY));
             }
         } else if (slot == 45) {
@@ -313,31 +584,64 @@ public class ShopDirectoryGUI {
             } else {
                 filterType = null;
             }
-            page = 0;
             loadListings();
-            buildGUI();
         } else if (slot == 46) {
             // Cycle sort
             ShopSearchFilter.SortOption[] options = ShopSearchFilter.SortOption.values();
             int currentIndex = sortOption.ordinal();
             sortOption = options[(currentIndex + 1) % options.length];
-            page = 0;
             loadListings();
-            buildGUI();
+        } else if (slot == 47 && isMarketViewAvailable()) {
+            // Switch to the market overview
+            marketView = true;
+            itemFilter = null;
+            loadListings();
+        } else if (slot == 48) {
+            // Previous page; the current page stays visible until it loads
+            if (!loading && page > 0) {
+                page--;
+                loadPage();
+            }
+        } else if (slot == 50) {
+            // Next page
+            if (!loading && nextCursor != null) {
+                page++;
+                if (page < pageStarts.size()) {
+                    pageStarts.set(page, nextCursor);
+                } else {
+                    pageStarts.add(nextCursor);
+                }
+                loadPage();
+            }
+        } else if (slot == 53) {
+            // Close
+            player.closeInventory();
+        }
+    }
+
+    private void handleMarketClick(int slot) {
+        int index = page * PAGE_SIZE + slot;
+        if (slot >= 0 && slot < 45) {
+            // Drill into the item's listings
+            if (index < markets.size()) {
+                itemFilter = markets.get(index).getKey();
+                marketView = false;
+                loadListings();
+            }
+        } else if (slot == 47) {
+            marketView = false;
+            loadListings();
         } else if (slot == 48) {
-            // Previous page
             if (page > 0) {
                 page--;
                 buildGUI();
             }
         } else if (slot == 50) {
-            // Next page
-            if (page < getMaxPages() - 1) {
+            if (hasNextMarketPage()) {
                 page++;
                 buildGUI();
             }
         } else if (slot == 53) {
-            // Close
             player.closeInventory();
         }
     }
@@ -7,11 +7,11 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.Tag;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.block.Sign;
 import org.bukkit.block.data.type.WallSign;
-import org.bukkit.inventory.ItemStack;
 
 import java.util.Optional;
 
@@ -23,6 +23,7 @@ public class SignRenderer {
     private final ShopRegistry registry;
     private final MiniMessage miniMessage;
     private MythicItemHandler mythicItemHandler;
+    private StockTracker stockTracker;
 
     private static final BlockFace[] SIGN_FACES = {
             BlockFace.NORTH, BlockFace.EAST, BlockFace.SOUTH, BlockFace.WEST
@@ -38,13 +39,21 @@ public class SignRenderer {
         this.mythicItemHandler = mythicItemHandler;
     }
 
+    public void setStockTracker(StockTracker stockTracker) {
+        this.stockTracker = stockTracker;
+    }
+
     /**
      * Create or update a sign for a listing.
      */
     public boolean createOrUpdateSign(Listing listing) {
-        Location signLocation = findSignLocation(listing.getLocation());
-        if (signLocation == null) {
-            return false;
+        // Reuse the recorded sign position; only probe around the chest if there is none or it was built over
+        Location signLocation = listing.getSignLocation();
+        if (signLocation == null || !canHoldSign(signLocation.getBlock())) {
+            signLocation = findSignLocation(listing.getLocation());
+            if (signLocation == null) {
+                return false;
+            }
         }
 
         Block signBlock = signLocation.getBlock();
@@ -71,6 +80,10 @@ public class SignRenderer {
         // Update sign text
         updateSignText(sign, listing);
         sign.update();
+
+        if (!signLocation.equals(listing.getSignLocation())) {
+            registry.setListingSign(listing, signLocation);
+        }
         return true;
     }
 
@@ -78,12 +91,13 @@ public class SignRenderer {
      * Remove a sign for a listing.
      */
     public void removeSign(Listing listing) {
-        Location signLocation = findSignLocation(listing.getLocation());
+        Location signLocation = listing.getSignLocation();
         if (signLocation != null) {
             Block signBlock = signLocation.getBlock();
-            if (signBlock.getState() instanceof Sign) {
+            if (Tag.ALL_SIGNS.isTagged(signBlock.getType())) {
                 signBlock.setType(Material.AIR);
             }
+            registry.setListingSign(listing, null);
         }
     }
 
@@ -118,7 +132,7 @@ public class SignRenderer {
         }
 
         // Line 4: Stock (dynamically calculated)
-        int stock = getStock(listing);
+        int stock = stockTracker.refreshStock(listing);
         sign.line(3, miniMessage.deserialize("<gray>Stock: <white>" + stock));
     }
 
@@ -127,51 +141,13 @@ public class SignRenderer {
      */
     private String getItemDisplayName(Listing listing) {
         if (listing.isMythicItem() && mythicItemHandler != null) {
-            ItemStack mythicItem = mythicItemHandler.getMythicItem(listing.getMythicItemId(), 1);
-            if (mythicItem != null && mythicItem.getItemMeta().hasDisplayName()) {
-                // Remove formatting codes for sign display
-                Component displayName = mythicItem.getItemMeta().displayName();
-                if (displayName != null) {
-                    return miniMessage.stripTags(miniMessage.serialize(displayName));
-                }
-            }
-            return listing.getMythicItemId();
+            return mythicItemHandler.getMythicDisplayName(listing.getMythicItemId());
         } else if (listing.getItem() != null) {
             return listing.getItem().getType().name().toLowerCase().replace('_', ' ');
         }
         return null;
     }
 
-    /**
-     * Get stock for a listing.
-     */
-    private int getStock(Listing listing) {
-        Block block = listing.getLocation().getBlock();
-        if (!(block.getState() instanceof org.bukkit.block.Chest chest)) {
-            return 0;
-        }
-
-        int count = 0;
-
-        // Handle mythic items
-        if (listing.isMythicItem() && mythicItemHandler != null) {
-            for (ItemStack item : chest.getInventory().getContents()) {
-                if (item != null && mythicItemHandler.isMythicItem(item, listing.getMythicItemId())) {
-                    count += item.getAmount();
-                }
-            }
-        } else if (listing.getItem() != null) {
-            // Handle vanilla items
-            for (ItemStack item : chest.getInventory().getContents()) {
-                if (item != null && item.isSimilar(listing.getItem())) {
-                    count += item.getAmount();
-                }
-            }
-        }
-
-        return count;
-    }
-
     /**
      * Find a suitable location for a sign adjacent to the chest.
      */
@@ -181,8 +157,8 @@ public class SignRenderer {
         for (BlockFace face : SIGN_FACES) {
             Block adjacent = chestBlock.getRelative(face);
 
-            // Check if block is air or already a sign
-            if (adjacent.getType() == Material.AIR || adjacent.getState() instanceof Sign) {
+            // Check if block is air or a sign not already used by another listing
+            if (canHoldSign(adjacent) && registry.getListingBySign(adjacent.getLocation()).isEmpty()) {
                 return adjacent.getLocation();
             }
         }
@@ -190,6 +166,13 @@ public class SignRenderer {
         return null;
     }
 
+    /**
+     * Check if a sign can be placed or reused at a block, by type only.
+     */
+    private boolean canHoldSign(Block block) {
+        return block.getType().isAir() || Tag.ALL_SIGNS.isTagged(block.getType());
+    }
+
     /**
      * Get the facing direction for a wall sign.
      */